@@ -0,0 +1,105 @@
+package x.y.z.backend.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import x.y.z.backend.service.AuthBenchmarkFixtures;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthBenchmark - Access token minting and verification, and the full
+ * JwtAuthenticationFilter pipeline for a request carrying an access_token cookie.
+ *
+ * Throughput in ops/s; each *Latency twin reports SampleTime (p50/p90/p99) in
+ * microseconds. JMH has one output unit per method, hence the twins. Run with
+ * -prof gc for allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final List<String> ROLES = List.of("EXTERNAL_USER", "MANAGER");
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtAuthenticationFilter filter;
+    private String accessToken;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = AuthBenchmarkFixtures.jwtTokenUtil();
+        filter = new JwtAuthenticationFilter(AuthBenchmarkFixtures.jwtTokenService(jwtTokenUtil));
+        accessToken = jwtTokenUtil.generateAccessToken(42L, "bench.user@example.com", ROLES);
+
+        request = new MockHttpServletRequest("GET", "/api/applications");
+        request.setCookies(
+                new Cookie("refresh_token", "opaque-refresh-token"),
+                new Cookie("access_token", accessToken));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenUtil.generateAccessToken(42L, "bench.user@example.com", ROLES);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String generateAccessTokenLatency() {
+        return generateAccessToken();
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwtTokenUtil.validateToken(accessToken);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Claims validateTokenLatency() {
+        return validateToken();
+    }
+
+    @Benchmark
+    public Object filterDoFilterInternal() throws ServletException, IOException {
+        try {
+            filter.doFilterInternal(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object filterDoFilterInternalLatency() throws ServletException, IOException {
+        return filterDoFilterInternal();
+    }
+}
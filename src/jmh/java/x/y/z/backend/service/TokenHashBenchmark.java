@@ -0,0 +1,51 @@
+package x.y.z.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenHashBenchmark - SHA-256 hashing of refresh tokens (every refresh and logout).
+ *
+ * Throughput in ops/s; hashTokenLatency reports SampleTime (p50/p90/p99) in
+ * microseconds. Run with -prof gc for allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenHashBenchmark {
+
+    private JwtTokenService jwtTokenService;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = AuthBenchmarkFixtures.jwtTokenService(AuthBenchmarkFixtures.jwtTokenUtil());
+        refreshToken = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return jwtTokenService.hashToken(refreshToken);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String hashTokenLatency() {
+        return jwtTokenService.hashToken(refreshToken);
+    }
+}
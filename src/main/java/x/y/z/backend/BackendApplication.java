@@ -1,13 +1,13 @@
 package x.y.z.backend;
 
-import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
 @EnableTransactionManagement
-@MapperScan("x.y.z.backend.repository.mapper")
+@EnableScheduling
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -2,4 +2,7 @@
 
 public interface CurrentUser {
     public String getEmail();
+
+    /** RAP.USER_INFO id, carried in the access token (sub) */
+    public Long getUserId();
 }
@@ -0,0 +1,161 @@
+package x.y.z.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource Configuration
+ *
+ * Single pool (default): the spring.datasource.* pool ("domain"), built the way Spring
+ * Boot would build it.
+ *
+ * With datasource.replica.enabled=true, read-only transactions are served by a
+ * readable secondary (an Azure SQL geo-replica / read scale-out, or any second JDBC
+ * URL). The application DataSource is a LazyConnectionDataSourceProxy: it fetches
+ * the physical connection on the first statement, once the transaction is known to be
+ * read-only, and then takes it from ReadReplicaDataSource instead of the primary.
+ * Writes, non-transactional access (Flyway, SUPPORTS methods) and reads after a write
+ * in the same request stay on the primary.
+ *
+ * Auth bulkhead: the @AuthMapper mappers (users, roles, tokens) run on their own pool
+ * (authDataSource, datasource.auth.hikari.*) with their own SqlSessionFactory and
+ * transaction manager (authTransactionManager), always against the primary. A burst of
+ * slow business queries can exhaust the application pool but never delays a login or a
+ * token check.
+ *
+ * Every pool exports hikaricp.* metrics and datasource.pool.saturation (active
+ * connections / maximum pool size), tagged pool=domain|auth|replica.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("datasource.auth.hikari")
+    public HikariDataSource authDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource authDataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        authDataSource.setPoolName("auth");
+        monitorSaturation(authDataSource, meterRegistry);
+        return authDataSource;
+    }
+
+    /**
+     * Transaction manager for the domain services (the default for @Transactional)
+     */
+    @Bean
+    @Primary
+    public JdbcTransactionManager transactionManager(DataSource dataSource) {
+        return new JdbcTransactionManager(dataSource);
+    }
+
+    /**
+     * Transaction manager for the auth services:
+     * {@code @Transactional(transactionManager = "authTransactionManager")}
+     */
+    @Bean
+    public JdbcTransactionManager authTransactionManager(@Qualifier("authDataSource") DataSource authDataSource) {
+        return new JdbcTransactionManager(authDataSource);
+    }
+
+    /**
+     * datasource.pool.saturation{pool} - share of the pool's connections in use (1.0 = exhausted)
+     */
+    static void monitorSaturation(HikariDataSource pool, MeterRegistry meterRegistry) {
+        Gauge.builder("datasource.pool.saturation", pool, dataSource -> {
+                    HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+                    return mxBean == null ? 0 : (double) mxBean.getActiveConnections() / dataSource.getMaximumPoolSize();
+                })
+                .description("Active connections / maximum pool size")
+                .tag("pool", pool.getPoolName())
+                .register(meterRegistry);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "false", matchIfMissing = true)
+    static class SinglePool {
+
+        @Bean
+        @Primary
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource dataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("domain");
+            monitorSaturation(dataSource, meterRegistry);
+            return dataSource;
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    static class ReadReplica {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+            HikariDataSource primaryDataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            primaryDataSource.setPoolName("domain");
+            monitorSaturation(primaryDataSource, meterRegistry);
+            return primaryDataSource;
+        }
+
+        @Bean
+        public ReadReplicaDataSource readReplicaDataSource(
+                @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                DataSourceProperties properties,
+                MeterRegistry meterRegistry,
+                @Value("${datasource.replica.url}") String url,
+                @Value("${datasource.replica.username:}") String username,
+                @Value("${datasource.replica.password:}") String password,
+                @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                @Value("${datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMs,
+                @Value("${datasource.replica.retry-interval-ms:30000}") long retryIntervalMs) {
+
+            if (url == null || url.isBlank()) {
+                throw new IllegalStateException("datasource.replica.enabled=true requires datasource.replica.url");
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.getDriverClassName())
+                    .url(url)
+                    .username(username.isBlank() ? null : username)
+                    .password(password.isBlank() ? null : password)
+                    .build();
+            replica.setPoolName("replica");
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // Fail fast so a read falls back to the primary instead of waiting for a connection
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            // Start (on the primary) even when the replica is down
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            monitorSaturation(replica, meterRegistry);
+
+            return new ReadReplicaDataSource(primaryDataSource, replica, retryIntervalMs, meterRegistry);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                     ReadReplicaDataSource readReplicaDataSource) {
+            LazyConnectionDataSourceProxy dataSource =
+                    new LazyConnectionDataSourceProxy(new ReadReplicaDataSource.WriteTracking(primaryDataSource));
+            dataSource.setReadOnlyDataSource(readReplicaDataSource);
+            return dataSource;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package x.y.z.backend.config;
 
+import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import x.y.z.backend.repository.mapper.AuthMapper;
 
 import javax.sql.DataSource;
 
@@ -20,17 +27,47 @@
  * - Enables mapper XML hot reload during development
  * - Works in conjunction with META-INF/spring-devtools.properties exclusions
  * - Auto-disables in production when DevTools is not present
+ * - Registers StatementMetricsInterceptor (per-statement metrics, slow-statement log)
+ *
+ * Two SqlSessionFactories, one per connection pool (see DataSourceConfig):
+ * - sqlSessionFactory: domain mappers on the application DataSource
+ * - authSqlSessionFactory: @AuthMapper mappers on the auth pool
  */
 @org.springframework.context.annotation.Configuration
 @ConditionalOnClass(SqlSessionFactory.class)
+@MapperScan(basePackages = "x.y.z.backend.repository.mapper",
+            annotationClass = Mapper.class,
+            excludeFilters = @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = AuthMapper.class),
+            sqlSessionFactoryRef = "sqlSessionFactory")
+@MapperScan(basePackages = "x.y.z.backend.repository.mapper",
+            annotationClass = AuthMapper.class,
+            sqlSessionFactoryRef = "authSqlSessionFactory")
 public class MyBatisConfig {
 
     /**
      * Configure SqlSessionFactory with DevTools-compatible resource loading
      * and automatic mapper XML reloading during development
+     *
+     * Domain mappers (mapper/*.xml) on the application DataSource.
      */
     @Bean
-    public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+    @Primary
+    public SqlSessionFactory sqlSessionFactory(DataSource dataSource,
+                                               StatementMetricsInterceptor statementMetricsInterceptor) throws Exception {
+        return buildSqlSessionFactory(dataSource, "classpath:mapper/*.xml", statementMetricsInterceptor);
+    }
+
+    /**
+     * Auth mappers (mapper/auth/*.xml) on the separate auth connection pool
+     */
+    @Bean
+    public SqlSessionFactory authSqlSessionFactory(@Qualifier("authDataSource") DataSource authDataSource,
+                                                   StatementMetricsInterceptor statementMetricsInterceptor) throws Exception {
+        return buildSqlSessionFactory(authDataSource, "classpath:mapper/auth/*.xml", statementMetricsInterceptor);
+    }
+
+    private SqlSessionFactory buildSqlSessionFactory(DataSource dataSource, String mapperLocations,
+                                                     StatementMetricsInterceptor statementMetricsInterceptor) throws Exception {
         SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
         
@@ -41,7 +78,7 @@ public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Excepti
         
         // Load mapper XML files from classpath
         sessionFactory.setMapperLocations(
-            resolver.getResources("classpath:mapper/**/*.xml")
+            resolver.getResources(mapperLocations)
         );
         
         // Set type aliases package
@@ -59,6 +96,9 @@ public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Excepti
         configuration.setLazyLoadingEnabled(true);
         
         sessionFactory.setConfiguration(configuration);
+
+        // Per-statement latency/row/error metrics and the slow-statement log
+        sessionFactory.setPlugins(statementMetricsInterceptor);
         
         // Build and return the SqlSessionFactory
         return sessionFactory.getObject();
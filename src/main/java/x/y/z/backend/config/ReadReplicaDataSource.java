@@ -0,0 +1,164 @@
+package x.y.z.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * ReadReplicaDataSource - Connections for read-only transactions, from a readable secondary.
+ *
+ * Installed as the read-only DataSource of a LazyConnectionDataSourceProxy (see
+ * DataSourceConfig), so it is asked for a connection only inside
+ * {@code @Transactional(readOnly = true)}; writes and non-transactional access use the
+ * primary. A read-only transaction still gets a primary connection when:
+ * - the current HTTP request has already run a write transaction (read-your-writes pin,
+ *   set by {@link WriteTracking}), so a request never reads older data than it wrote
+ * - the replica is marked unavailable: a failed connection attempt marks it down for
+ *   the retry interval, after which the next read tries it again
+ *
+ * A transaction served by the replica is marked ({@link #isCurrentTransactionOnReplica()})
+ * so node-wide caches do not keep rows that may lag behind the primary: after the
+ * request that wrote them, such rows would otherwise be served for the whole TTL.
+ *
+ * Metrics:
+ * - datasource.replica.reads      read-only connections, tagged route=replica|pinned|unavailable
+ * - datasource.replica.available  1 while the replica is in use, 0 while reads fall back
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    /** Request attribute set once the request has written through the primary */
+    static final String PINNED_ATTRIBUTE = ReadReplicaDataSource.class.getName() + ".PINNED";
+
+    /** Transaction resource bound while the current transaction reads from the replica */
+    private static final Object REPLICA_TRANSACTION = new Object();
+
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final long retryIntervalNanos;
+
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter unavailableReads;
+
+    private volatile boolean replicaDown;
+    private volatile long replicaDownSince;
+
+    public ReadReplicaDataSource(DataSource primary, HikariDataSource replica, long retryIntervalMs,
+                                 MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryIntervalNanos = retryIntervalMs * 1_000_000L;
+        this.replicaReads = meterRegistry.counter("datasource.replica.reads", "route", "replica");
+        this.pinnedReads = meterRegistry.counter("datasource.replica.reads", "route", "pinned");
+        this.unavailableReads = meterRegistry.counter("datasource.replica.reads", "route", "unavailable");
+        Gauge.builder("datasource.replica.available", this, source -> source.replicaDown ? 0 : 1)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isRequestPinned()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        if (replicaDown && System.nanoTime() - replicaDownSince < retryIntervalNanos) {
+            unavailableReads.increment();
+            return primary.getConnection();
+        }
+        Connection connection;
+        try {
+            connection = replica.getConnection();
+        } catch (SQLException e) {
+            if (!replicaDown) {
+                logger.warn("Read replica unavailable, routing reads to the primary: {}", e.getMessage());
+            }
+            replicaDownSince = System.nanoTime();
+            replicaDown = true;
+            unavailableReads.increment();
+            return primary.getConnection();
+        }
+        if (replicaDown) {
+            replicaDown = false;
+            logger.info("Read replica available again, routing reads to it");
+        }
+        replicaReads.increment();
+        markTransactionOnReplica();
+        return connection;
+    }
+
+    /**
+     * @return true if the current transaction's reads come from the replica, which may
+     *         lag behind the primary - such rows must not be cached node-wide
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION);
+    }
+
+    private static void markTransactionOnReplica() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_TRANSACTION);
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void destroy() {
+        replica.close();
+    }
+
+    private static boolean isRequestPinned() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null
+                && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * The primary, pinning the current request to it once a write transaction uses it.
+     */
+    public static class WriteTracking extends DelegatingDataSource {
+
+        public WriteTracking(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                RequestAttributes request = RequestContextHolder.getRequestAttributes();
+                if (request != null) {
+                    request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+            return super.getConnection();
+        }
+    }
+}
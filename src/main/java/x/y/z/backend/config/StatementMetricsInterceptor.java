@@ -0,0 +1,168 @@
+package x.y.z.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatementMetricsInterceptor - Per-statement SQL metrics and a slow-statement log.
+ *
+ * A MyBatis plugin on StatementHandler, so only statements that actually reach the
+ * database are measured (session cache hits are not); the time covers execution and
+ * result mapping. Meters, tagged statement="&lt;Mapper&gt;.&lt;method&gt;":
+ * - mybatis.statement         latency histogram, tagged outcome=success|error
+ * - mybatis.statement.rows    rows returned (select) or affected (insert/update/delete)
+ * - mybatis.statement.errors  failures, tagged with the exception class
+ * Cursor queries record the time to open the cursor and no row count.
+ *
+ * Statements slower than the threshold are logged at WARN with their SQL text and
+ * the names of the bound parameters - never the values, which may hold tokens or
+ * personal data.
+ */
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean percentileHistogram;
+    private final long slowThresholdNanos;
+
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${sql-metrics.percentile-histogram:true}") boolean percentileHistogram,
+            @Value("${sql-metrics.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = percentileHistogram;
+        this.slowThresholdNanos = slowThresholdMs > 0 ? TimeUnit.MILLISECONDS.toNanos(slowThresholdMs) : -1;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        MappedStatement mappedStatement = (MappedStatement) SystemMetaObject.forObject(handler)
+                .getValue("delegate.mappedStatement");
+        StatementMeters statementMeters = meters.computeIfAbsent(mappedStatement.getId(), this::register);
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            statementMeters.failure.record(elapsed, TimeUnit.NANOSECONDS);
+            Throwable cause = ExceptionUtil.unwrapThrowable(e);
+            meterRegistry.counter("mybatis.statement.errors",
+                    "statement", statementMeters.name,
+                    "exception", cause.getClass().getSimpleName()).increment();
+            throw e;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        statementMeters.success.record(elapsed, TimeUnit.NANOSECONDS);
+        long rows = rows(result);
+        if (rows >= 0) {
+            statementMeters.rows.record(rows);
+        }
+        if (slowThresholdNanos >= 0 && elapsed >= slowThresholdNanos) {
+            logSlow(statementMeters.name, handler.getBoundSql(), elapsed, rows);
+        }
+        return result;
+    }
+
+    private StatementMeters register(String statementId) {
+        String name = shortId(statementId);
+        return new StatementMeters(name, timer(name, "success"), timer(name, "error"),
+                DistributionSummary.builder("mybatis.statement.rows")
+                        .description("Rows returned or affected per mapper statement")
+                        .tag("statement", name)
+                        .register(meterRegistry));
+    }
+
+    private Timer timer(String name, String outcome) {
+        return Timer.builder("mybatis.statement")
+                .description("Mapper statement execution time")
+                .tag("statement", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+
+    private static void logSlow(String name, BoundSql boundSql, long elapsedNanos, long rows) {
+        List<String> parameters = boundSql.getParameterMappings().stream()
+                .map(ParameterMapping::getProperty)
+                .toList();
+        logger.warn("Slow statement {} took {} ms ({} rows): {} [{} parameter(s) redacted: {}]",
+                name,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rows >= 0 ? rows : "?",
+                boundSql.getSql().trim().replaceAll("\\s+", " "),
+                parameters.size(),
+                String.join(", ", parameters));
+    }
+
+    /**
+     * x.y.z.backend.repository.mapper.ApplicationMapper.findById -> ApplicationMapper.findById
+     */
+    private static String shortId(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int mapper = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return statementId.substring(mapper + 1);
+    }
+
+    private static final class StatementMeters {
+
+        final String name;
+        final Timer success;
+        final Timer failure;
+        final DistributionSummary rows;
+
+        StatementMeters(String name, Timer success, Timer failure, DistributionSummary rows) {
+            this.name = name;
+            this.success = success;
+            this.failure = failure;
+            this.rows = rows;
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package x.y.z.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import x.y.z.backend.config.CurrentUser;
 import x.y.z.backend.domain.dto.PageResponse;
@@ -21,9 +24,12 @@
 import x.y.z.backend.mapper.ApplicationDtoMapper;
 import x.y.z.backend.service.ApplicationService;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -47,11 +53,17 @@ public class ApplicationController {
 
     private final ApplicationService applicationService;
     private final ApplicationDtoMapper dtoMapper;
+    private final ExportWriter exportWriter;
     private static final Logger logger = LoggerFactory.getLogger(ApplicationController.class);
 
-    public ApplicationController(ApplicationService applicationService, ApplicationDtoMapper dtoMapper) {
+    /** CSV export columns, in order */
+    private static final Map<String, Function<ApplicationResponse, Object>> EXPORT_COLUMNS = exportColumns();
+
+    public ApplicationController(ApplicationService applicationService, ApplicationDtoMapper dtoMapper,
+                                 ExportWriter exportWriter) {
         this.applicationService = applicationService;
         this.dtoMapper = dtoMapper;
+        this.exportWriter = exportWriter;
     }
 
     /**
@@ -76,23 +88,29 @@ public ResponseEntity<ApplicationResponse> createApplication(
         // Convert domain model to DTO
         ApplicationResponse response = dtoMapper.toDto(created);
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(RowVersionETags.eTag(created.getRowVersion()))
+                .body(response);
     }
 
     /**
      * Update an existing application.
      * PUT /api/applications/{id}
+     * With If-Match (an ETag from a previous GET) the update only applies if nobody has
+     * changed the application since; otherwise 412 Precondition Failed.
      */
     @PutMapping("/{id}")
     public ResponseEntity<ApplicationResponse> updateApplication(
             @PathVariable @Min(1) Long id,
-            @Valid @RequestBody UpdateApplicationRequest request, CurrentUser user) {
+            @Valid @RequestBody UpdateApplicationRequest request, CurrentUser user,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
         // Extract current user from security context
         String currentUser = user.getEmail();
         
         // Convert DTO to domain model
         Application application = dtoMapper.toEntity(id, request, currentUser);
+        application.setExpectedRowVersions(RowVersionETags.parseIfMatch(ifMatch));
         
         // Delegate to service (business logic + transaction)
         Application updated = applicationService.updateApplication(application);
@@ -100,7 +118,9 @@ public ResponseEntity<ApplicationResponse> updateApplication(
         // Convert domain model to DTO
         ApplicationResponse response = dtoMapper.toDto(updated);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(RowVersionETags.eTag(updated.getRowVersion()))
+                .body(response);
     }
 
     /**
@@ -118,31 +138,33 @@ public ResponseEntity<Void> deleteApplication(@PathVariable @Min(1) Long id) {
     /**
      * Get application by ID.
      * GET /api/applications/{id}
+     * Conditional: ETag is the row version; If-None-Match gets 304 while unchanged.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApplicationResponse> getApplicationById(@PathVariable @Min(1) Long id) {
+    public ResponseEntity<ApplicationResponse> getApplicationById(@PathVariable @Min(1) Long id,
+                                                                  HttpServletRequest request) {
         // Delegate to service
         Application application = applicationService.getApplicationById(id);
         
-        // Convert domain model to DTO
-        ApplicationResponse response = dtoMapper.toDto(application);
-        
-        return ResponseEntity.ok(response);
+        // Convert domain model to DTO only when the body is sent
+        return RowVersionETags.conditional(request, application.getRowVersion(),
+                () -> dtoMapper.toDto(application));
     }
 
     /**
      * Get application by code.
      * GET /api/applications/code/{applicationCode}
+     * Conditional: ETag is the row version; If-None-Match gets 304 while unchanged.
      */
     @GetMapping("/code/{applicationCode}")
-    public ResponseEntity<ApplicationResponse> getApplicationByCode(@PathVariable String applicationCode) {
+    public ResponseEntity<ApplicationResponse> getApplicationByCode(@PathVariable String applicationCode,
+                                                                    HttpServletRequest request) {
         // Delegate to service
         Application application = applicationService.getApplicationByCode(applicationCode);
         
-        // Convert domain model to DTO
-        ApplicationResponse response = dtoMapper.toDto(application);
-        
-        return ResponseEntity.ok(response);
+        // Convert domain model to DTO only when the body is sent
+        return RowVersionETags.conditional(request, application.getRowVersion(),
+                () -> dtoMapper.toDto(application));
     }
 
     /**
@@ -180,15 +202,18 @@ public ResponseEntity<List<ApplicationResponse>> getApplicationsByStatus(@PathVa
     }
 
     /**
-     * Search applications by name.
-     * GET /api/applications/search?name={namePattern}
+     * Search applications by name or code, best match first.
+     * GET /api/applications/search?name={text}&mode=contains|prefix&limit=50
+     * mode=prefix is the autocomplete mode (name, code or a word of the name starts with the text).
      */
     @GetMapping("/search")
     public ResponseEntity<List<ApplicationResponse>> searchApplicationsByName(
-            @RequestParam(name = "name") String namePattern) {
+            @RequestParam(name = "name") String namePattern,
+            @RequestParam(name = "mode", defaultValue = "contains") String mode,
+            @RequestParam(name = "limit", defaultValue = "50") @Min(1) int limit) {
         
         // Delegate to service
-        List<Application> applications = applicationService.searchApplicationsByName(namePattern);
+        List<Application> applications = applicationService.searchApplications(namePattern, mode, limit);
         
         // Convert list of domain models to list of DTOs
         List<ApplicationResponse> response = applications.stream()
@@ -198,6 +223,25 @@ public ResponseEntity<List<ApplicationResponse>> searchApplicationsByName(
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Export applications, streamed row by row, optionally filtered by status and/or name.
+     * Unlike the list endpoints above, rows are never collected in memory.
+     * GET /api/applications/export?format=ndjson|csv&status={status}&name={namePattern}
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('INTERNAL_USER')")
+    public ResponseEntity<StreamingResponseBody> exportApplications(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "name", required = false) String namePattern) {
+        // Reject bad filters now - once streaming starts the status code is committed
+        applicationService.validateExportFilters(status);
+        
+        return exportWriter.stream(format, "applications", EXPORT_COLUMNS,
+            sink -> applicationService.exportApplications(status, namePattern,
+                application -> sink.accept(dtoMapper.toDto(application))));
+    }
+
     /**
      * Get application count.
      * GET /api/applications/count
@@ -217,19 +261,25 @@ public ResponseEntity<Map<String, Long>> getApplicationCount() {
     /**
      * Get applications for the current user with pagination.
      * GET /api/applications/my?page=0&size=10
+     * GET /api/applications/my?cursor={nextCursor}&size=10 (keyset paging; cursor= for the first page)
+     * includeTotal=false skips the total count (totalElements and totalPages are then -1)
      */
     @GetMapping("/my")
     @PreAuthorize("hasRole('EXTERNAL_USER')")
     public ResponseEntity<PageResponse<ApplicationResponse>> getMyApplications(
             @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
             @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "true") boolean includeTotal,
             CurrentUser user) {
         
         // Extract current user from security context
         String currentUser = user.getEmail();
         
-        // Delegate to service
-        PageResponse<Application> applicationPage = applicationService.getApplicationsByUser(currentUser, page, size);
+        // Delegate to service - a cursor selects keyset paging, otherwise offset paging
+        PageResponse<Application> applicationPage = cursor != null
+            ? applicationService.getApplicationsByUserAfter(currentUser, cursor, size, includeTotal)
+            : applicationService.getApplicationsByUser(currentUser, page, size, includeTotal);
         
         // Convert domain models to DTOs
         List<ApplicationResponse> content = applicationPage.getContent().stream()
@@ -237,33 +287,48 @@ public ResponseEntity<PageResponse<ApplicationResponse>> getMyApplications(
             .collect(Collectors.toList());
         
         // Build PageResponse with DTO content
-        PageResponse<ApplicationResponse> response = new PageResponse<>(
-            content,
-            applicationPage.getPage(),
-            applicationPage.getSize(),
-            applicationPage.getTotalElements()
-        );
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(applicationPage.withContent(content));
     }
 
+    /**
+     * Get applications for a university with pagination.
+     * GET /api/applications/university/{universityId}?page=0&size=10
+     * GET /api/applications/university/{universityId}?cursor={nextCursor}&size=10
+     * includeTotal=false skips the total count (totalElements and totalPages are then -1)
+     */
     @GetMapping("/university/{universityId}")
     @PreAuthorize("hasRole('INTERNAL_USER')")
     public ResponseEntity<PageResponse<ApplicationResponse>> getApplicationsByUniversity(
             @PathVariable Long universityId,
             @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
-            @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
-        PageResponse<Application> applicationPage = applicationService.getApplicationsByUniversity(universityId, page, size);
+            @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "true") boolean includeTotal) {
+        PageResponse<Application> applicationPage = cursor != null
+            ? applicationService.getApplicationsByUniversityAfter(universityId, cursor, size, includeTotal)
+            : applicationService.getApplicationsByUniversity(universityId, page, size, includeTotal);
         List<ApplicationResponse> content = applicationPage.getContent().stream()
             .map(dtoMapper::toDto)
             .collect(Collectors.toList());
-        PageResponse<ApplicationResponse> response = new PageResponse<>(
-            content,
-            applicationPage.getPage(),
-            applicationPage.getSize(),
-            applicationPage.getTotalElements()
-        );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(applicationPage.withContent(content));
+    }
+
+    private static Map<String, Function<ApplicationResponse, Object>> exportColumns() {
+        Map<String, Function<ApplicationResponse, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", ApplicationResponse::getId);
+        columns.put("applicationName", ApplicationResponse::getApplicationName);
+        columns.put("applicationCode", ApplicationResponse::getApplicationCode);
+        columns.put("description", ApplicationResponse::getDescription);
+        columns.put("status", ApplicationResponse::getStatus);
+        columns.put("ownerName", ApplicationResponse::getOwnerName);
+        columns.put("ownerEmail", ApplicationResponse::getOwnerEmail);
+        columns.put("universityId", ApplicationResponse::getUniversityId);
+        columns.put("universityName", ApplicationResponse::getUniversityName);
+        columns.put("createdAt", ApplicationResponse::getCreatedAt);
+        columns.put("createdBy", ApplicationResponse::getCreatedBy);
+        columns.put("updatedAt", ApplicationResponse::getUpdatedAt);
+        columns.put("updatedBy", ApplicationResponse::getUpdatedBy);
+        return Collections.unmodifiableMap(columns);
     }
 
     /**
@@ -7,16 +7,20 @@
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import x.y.z.backend.domain.model.User;
-import x.y.z.backend.security.JwtTokenUtil;
+import x.y.z.backend.security.VerifiedToken;
 import x.y.z.backend.service.JwtTokenService;
 import x.y.z.backend.service.UserService;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -28,7 +32,7 @@
  * - GET /auth/login - Initiates OIDC login (redirects to external provider)
  * - GET /auth/sso-login - Initiates Azure AD SSO login (redirects to internal provider)
  * - POST /auth/refresh - Refreshes access token using refresh token
- * - POST /auth/logout - Revokes tokens and logs out user
+ * - POST /auth/logout - Revokes tokens and logs out user (?allDevices=true: every session)
  * - GET /auth/user - Get current authenticated user info
  * - GET /auth/check - Check session validity
  */
@@ -39,9 +43,11 @@ public class AuthController {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
+    /** Session responses may be cached by the browser only, and must be revalidated */
+    private static final CacheControl SESSION_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final UserService userService;
     private final JwtTokenService jwtTokenService;
-    private final JwtTokenUtil jwtTokenUtil;
     
     @Value("${frontend.url:http://localhost:4200}")
     private String frontendUrl;
@@ -72,12 +78,10 @@ public class AuthController {
 
     public AuthController(
             UserService userService,
-            JwtTokenService jwtTokenService,
-            JwtTokenUtil jwtTokenUtil) {
+            JwtTokenService jwtTokenService) {
         
         this.userService = userService;
         this.jwtTokenService = jwtTokenService;
-        this.jwtTokenUtil = jwtTokenUtil;
     }
 
     /**
@@ -233,13 +237,17 @@ public ResponseEntity<Map<String, Object>> refreshToken(
      * Clears authentication cookies.
      * Provider-aware: reads auth_provider cookie to determine the correct
      * end-session URL (OIDC provider / Keycloak vs Azure AD).
+     * With allDevices=true every access and refresh token of the user is revoked
+     * (one token epoch bump, see JwtTokenService.revokeAllTokens).
      * 
+     * @param allDevices Log out from all devices ("logout everywhere")
      * @param request HTTP request to extract tokens
      * @param response HTTP response to clear cookies
      * @return Success response
      */
     @PostMapping("/logout")
     public ResponseEntity<Map<String, Object>> logout(
+            @RequestParam(name = "allDevices", defaultValue = "false") boolean allDevices,
             HttpServletRequest request,
             HttpServletResponse response) {
 
@@ -248,9 +256,17 @@ public ResponseEntity<Map<String, Object>> logout(
             String accessToken = extractTokenFromCookie(request, "access_token");
             String refreshToken = extractTokenFromCookie(request, "refresh_token");
 
-            // Revoke access token (add to blacklist)
+            // Revoke access token (add to blacklist), reusing the filter's verification if present
             if (accessToken != null) {
-                jwtTokenService.revokeAccessToken(accessToken, "LOGOUT");
+                Object verified = request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+                if (verified instanceof VerifiedToken token && accessToken.equals(token.getToken())) {
+                    if (allDevices) {
+                        jwtTokenService.revokeAllTokens(token.getUserId(), "LOGOUT_ALL");
+                    }
+                    jwtTokenService.revokeAccessToken(token, "LOGOUT");
+                } else {
+                    jwtTokenService.revokeAccessToken(accessToken, "LOGOUT");
+                }
             }
 
             // Revoke refresh token
@@ -341,6 +357,11 @@ public ResponseEntity<Map<String, Object>> logout(
      * GET /auth/user
      * Get current authenticated user information from JWT token.
      * 
+     * Conditional: the ETag combines the token's jti + exp (roles) with the user row's
+     * updated_at (profile, status, last login - every USER_INFO write bumps it), so
+     * repeated polls get 304 Not Modified without a response body until either changes.
+     * A new login or refresh yields a new jti and therefore a fresh 200.
+     * 
      * @param request HTTP request to extract access token
      * @return User information
      */
@@ -352,20 +373,20 @@ public ResponseEntity<Map<String, Object>> getCurrentUser(HttpServletRequest req
             String accessToken = extractTokenFromCookie(request, "access_token");
             logger.info("GET /auth/user - access_token cookie present: {}", accessToken != null);
 
-            if (accessToken == null || !jwtTokenService.validateAccessToken(accessToken)) {
-                logger.warn("GET /auth/user - Not authenticated (token null: {}, valid: {})", 
-                    accessToken == null, 
-                    accessToken != null ? jwtTokenService.validateAccessToken(accessToken) : "N/A");
+            VerifiedToken token = resolveVerifiedToken(request, accessToken);
+
+            if (token == null) {
+                logger.warn("GET /auth/user - Not authenticated (token null: {}, valid: false)", 
+                    accessToken == null);
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
                 errorResponse.put("message", "Not authenticated");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
             }
 
-            // Extract user info from token
-            Long userId = jwtTokenUtil.getUserIdFromToken(accessToken);
-            String email = jwtTokenUtil.getEmailFromToken(accessToken);
-            var roles = jwtTokenUtil.getRolesFromToken(accessToken);
+            // Extract user info from the verified token
+            Long userId = token.getUserId();
+            var roles = token.getRoles();
 
             // Get full user details from database
             User user = userService.findById(userId);
@@ -377,6 +398,12 @@ public ResponseEntity<Map<String, Object>> getCurrentUser(HttpServletRequest req
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
             }
 
+            // Unchanged session and user row - nothing to send
+            String etag = userETag(token, user);
+            if (new ServletWebRequest(request).checkNotModified(etag)) {
+                return notModified(etag);
+            }
+
             // Return user info directly (not wrapped in "user" field)
             Map<String, Object> userInfo = new HashMap<>();
             userInfo.put("id", user.getId().toString());
@@ -392,7 +419,10 @@ public ResponseEntity<Map<String, Object>> getCurrentUser(HttpServletRequest req
                 .anyMatch(role -> "EXTERNAL_USER".equalsIgnoreCase(role));
             userInfo.put("isExternalUser", isExternalUser);
 
-            return ResponseEntity.ok(userInfo);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(SESSION_CACHE_CONTROL)
+                    .body(userInfo);
 
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -411,6 +441,11 @@ public ResponseEntity<Map<String, Object>> getCurrentUser(HttpServletRequest req
      * - Is access token expired but refresh token valid? → Call /auth/refresh OR redirect to OIDC
      * - Are both tokens invalid/expired? → Redirect to OIDC login
      * 
+     * Fast path: a valid session is answered from the verified token and the in-memory
+     * revocation state only (no database access), with a compact payload and an ETag
+     * derived from jti + exp - an unchanged session gets 304 Not Modified.
+     * Full profile details (fullName, lastLoginAt, ...) come from GET /auth/user.
+     * 
      * @param request HTTP request to extract tokens
      * @return Session status
      */
@@ -423,52 +458,44 @@ public ResponseEntity<Map<String, Object>> checkSession(HttpServletRequest reque
             String refreshToken = extractTokenFromCookie(request, "refresh_token");
 
             // Check access token
-            boolean accessTokenValid = accessToken != null && jwtTokenService.validateAccessToken(accessToken);
+            VerifiedToken token = resolveVerifiedToken(request, accessToken);
 
-            if (accessTokenValid) {
-                // Extract user info from token
-                Long userId = jwtTokenUtil.getUserIdFromToken(accessToken);
-                String email = jwtTokenUtil.getEmailFromToken(accessToken);
-                var roles = jwtTokenUtil.getRolesFromToken(accessToken);
-
-                // Get full user details from database
-                User user = userService.findById(userId);
-
-                if (user == null) {
-                    response.put("authenticated", false);
-                    response.put("error", "User not found");
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            if (token != null) {
+                // Unchanged session - nothing to build
+                String etag = sessionETag(token);
+                if (new ServletWebRequest(request).checkNotModified(etag)) {
+                    return notModified(etag);
                 }
 
+                // Everything below comes from the verified token - no database access
+                var roles = token.getRoles();
+
                 // Set isExternalUser: true if role is EXTERNAL_USER, false otherwise (internal users have other roles)
-                boolean isExternalUser = roles != null && roles.stream()
+                boolean isExternalUser = roles.stream()
                     .anyMatch(role -> "EXTERNAL_USER".equalsIgnoreCase(role));
 
                 response.put("authenticated", true);
                 response.put("accessTokenValid", true);
                 response.put("requiresReauth", false);
+                response.put("expiresAt", token.getExpiresAt().getEpochSecond());
                 
                 Map<String, Object> userInfo = new HashMap<>();
-                userInfo.put("id", user.getId().toString());
-                userInfo.put("email", user.getEmail());
-                userInfo.put("fullName", user.getFullName());
-                userInfo.put("oidcSubject", user.getOidcSubject());
+                userInfo.put("id", token.getUserId().toString());
+                userInfo.put("email", token.getEmail());
                 userInfo.put("roles", roles);
-                userInfo.put("isActive", user.getIsActive());
                 userInfo.put("isExternalUser", isExternalUser);
-                userInfo.put("lastLoginAt", user.getLastLoginAt());
-                userInfo.put("createdAt", user.getCreatedAt());
                 
                 response.put("user", userInfo);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(SESSION_CACHE_CONTROL)
+                        .body(response);
             }
 
             // Access token invalid - check refresh token
             if (refreshToken != null) {
-                try {
-                    // Just check if refresh token exists and is valid (don't issue new token yet)
-                    jwtTokenService.refreshAccessToken(refreshToken); // This validates refresh token
-                    
+                // Just check if refresh token exists and is valid (don't issue new token yet)
+                if (jwtTokenService.isRefreshTokenValid(refreshToken)) {
                     response.put("authenticated", false);
                     response.put("accessTokenValid", false);
                     response.put("refreshTokenValid", true);
@@ -477,7 +504,7 @@ public ResponseEntity<Map<String, Object>> checkSession(HttpServletRequest reque
                     response.put("loginUrl", "/auth/login");
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
                     
-                } catch (Exception e) {
+                } else {
                     // Refresh token also invalid
                     response.put("authenticated", false);
                     response.put("accessTokenValid", false);
@@ -518,6 +545,49 @@ private Cookie createCookie(String name, String value, int maxAgeSeconds) {
         return cookie;
     }
 
+    /**
+     * Helper: ETag for session endpoints - identifies the access token (jti) and its
+     * lifetime (exp), which together determine every field served from it.
+     */
+    private String sessionETag(VerifiedToken token) {
+        return "\"" + token.getJti() + "." + token.getExpiresAt().getEpochSecond() + "\"";
+    }
+
+    /**
+     * Helper: ETag for /auth/user - the session ETag plus the user row's updated_at,
+     * since the body also carries user data that changes during a token's lifetime.
+     */
+    private String userETag(VerifiedToken token, User user) {
+        LocalDateTime updatedAt = user.getUpdatedAt();
+        long version = updatedAt == null ? 0 : updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + token.getJti() + "." + token.getExpiresAt().getEpochSecond() + "." + version + "\"";
+    }
+
+    /**
+     * Helper: 304 response for an unchanged session
+     */
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(SESSION_CACHE_CONTROL)
+                .build();
+    }
+
+    /**
+     * Helper: Reuse the token verified by JwtAuthenticationFilter for this request,
+     * falling back to a single verification when the filter did not authenticate it.
+     */
+    private VerifiedToken resolveVerifiedToken(HttpServletRequest request, String accessToken) {
+        if (accessToken == null) {
+            return null;
+        }
+        Object attribute = request.getAttribute(VerifiedToken.REQUEST_ATTRIBUTE);
+        if (attribute instanceof VerifiedToken verified && accessToken.equals(verified.getToken())) {
+            return verified;
+        }
+        return jwtTokenService.verifyAccessToken(accessToken);
+    }
+
     /**
      * Helper: Extract token from cookie
      */
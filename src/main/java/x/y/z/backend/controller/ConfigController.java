@@ -1,12 +1,16 @@
 package x.y.z.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -46,6 +50,13 @@
 @RefreshScope
 public class ConfigController {
 
+    private static final CacheControl CONFIG_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private final ObjectMapper objectMapper;
+
+    /** Rendered on first use; a refresh event replaces this bean, and with it the body */
+    private volatile RenderedJson environmentProperties;
+
     @Value("${spring.application.name:backend}")
     private String applicationName;
 
@@ -61,6 +72,10 @@ public class ConfigController {
     @Value("${APP_ENV_NAME:Local}")
     private String appEnvName;
 
+    public ConfigController(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     /**
      * GET /api/config/environmentProperties
      * 
@@ -81,11 +96,28 @@ public class ConfigController {
      * frontend needs to load configuration before authentication. It only exposes
      * non-sensitive configuration values like timeout durations and environment names.</p>
      * 
-     * @return Map of configuration properties matching EnvironmentProps interface
+     * <h3>Caching:</h3>
+     * <p>The body is serialized once per refresh of this bean and served with a strong ETag;
+     * clients revalidate (no-cache) and get 304 Not Modified until a refresh changes it.</p>
+     * 
+     * @return configuration properties matching EnvironmentProps interface, as JSON
      */
     @GetMapping("/environmentProperties")
-    public Map<String, Object> getEnvironmentProperties() {
-        Map<String, Object> config = new HashMap<>();
+    public ResponseEntity<byte[]> getEnvironmentProperties(HttpServletRequest request) {
+        RenderedJson body = environmentProperties;
+        if (body == null) {
+            body = RenderedJson.of(objectMapper, buildEnvironmentProperties());
+            environmentProperties = body;
+        }
+        return body.respond(request, CONFIG_CACHE_CONTROL);
+    }
+
+    /**
+     * Helper: Configuration map in a fixed key order, so every replica renders the same
+     * bytes (and ETag) for the same configuration
+     */
+    private Map<String, Object> buildEnvironmentProperties() {
+        Map<String, Object> config = new LinkedHashMap<>();
         
         // Application environment info
         config.put("appEnv", appEnv);
@@ -0,0 +1,133 @@
+package x.y.z.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ExportWriter - Streams rows to the HTTP response as NDJSON or CSV.
+ *
+ * Each row is written as soon as the source hands it over, through a small buffered
+ * writer, so an export of any size holds only one row (plus the driver's fetch
+ * buffer) in memory. The source runs on the MVC async thread, inside whatever
+ * transaction the service method it calls opens.
+ */
+@Component
+public class ExportWriter {
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Invalid export format: '" + value + "'. Valid values: ndjson, csv");
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public ExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Build a streaming export response.
+     *
+     * @param format "ndjson" or "csv" (validated before anything is streamed)
+     * @param fileName Download file name, without extension
+     * @param columns CSV columns, in iteration order: header to value extractor (ignored for NDJSON)
+     * @param source Feeds every row to the given consumer
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(String format, String fileName,
+                                                            Map<String, Function<T, Object>> columns,
+                                                            Consumer<Consumer<T>> source) {
+        Format exportFormat = Format.from(format);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (exportFormat == Format.CSV) {
+                writeCsvRow(writer, columns.keySet());
+            }
+            source.accept(row -> {
+                try {
+                    if (exportFormat == Format.CSV) {
+                        writeCsvRow(writer, columns.values().stream().map(column -> column.apply(row)).toList());
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    // Typically the client went away - abort the cursor instead of draining it
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName + "." + exportFormat.extension)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private static void writeCsvRow(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(csvCell(value));
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting, plus a leading quote on values a spreadsheet would
+     * otherwise evaluate as a formula.
+     */
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -1,15 +1,21 @@
 package x.y.z.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import x.y.z.backend.config.CurrentUser;
 import x.y.z.backend.domain.dto.PageResponse;
 import x.y.z.backend.domain.model.Permit;
 import x.y.z.backend.service.PermitService;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * REST Controller for Permit operations.
  * 
@@ -29,88 +35,115 @@
 public class PermitController {
 
     private final PermitService permitService;
+    private final ExportWriter exportWriter;
+
+    /** CSV export columns, in order */
+    private static final Map<String, Function<Permit, Object>> EXPORT_COLUMNS = exportColumns();
 
-    public PermitController(PermitService permitService) {
+    public PermitController(PermitService permitService, ExportWriter exportWriter) {
         this.permitService = permitService;
+        this.exportWriter = exportWriter;
     }
 
     /**
      * Get permits for the current user with pagination.
      * GET /api/permits/my?page=0&size=10
+     * GET /api/permits/my?cursor={nextCursor}&size=10 (keyset paging; cursor= for the first page)
+     * includeTotal=false skips the total count (totalElements and totalPages are then -1)
      */
     @GetMapping("/my")
     @PreAuthorize("hasRole('EXTERNAL_USER')")
     public ResponseEntity<PageResponse<Permit>> getMyPermits(
             @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
-            @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
+            @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "true") boolean includeTotal,
+            CurrentUser user) {
         
-        // Extract current user from security context
-        String currentUser = getCurrentUsername();
+        // User ID comes from the access token - no user lookup
+        Long userId = user.getUserId();
         
-        // Delegate to service
-        PageResponse<Permit> permitPage = permitService.getPermitsByUser(currentUser, page, size);
+        // Delegate to service - a cursor selects keyset paging, otherwise offset paging
+        PageResponse<Permit> permitPage = cursor != null
+            ? permitService.getPermitsByHolderAfter(userId, cursor, size, includeTotal)
+            : permitService.getPermitsByHolder(userId, page, size, includeTotal);
         
         return ResponseEntity.ok(permitPage);
     }
 
+    /**
+     * Export all permits, streamed row by row.
+     * GET /api/permits/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('INTERNAL_USER')")
+    public ResponseEntity<StreamingResponseBody> exportPermits(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        return exportWriter.stream(format, "permits", EXPORT_COLUMNS, permitService::exportPermits);
+    }
+
     /**
      * Get permit by ID.
      * GET /api/permits/{id}
+     * Conditional: ETag is the row version; If-None-Match gets 304 while unchanged.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Permit> getPermitById(@PathVariable @Min(1) Long id) {
+    public ResponseEntity<Permit> getPermitById(@PathVariable @Min(1) Long id, HttpServletRequest request) {
         // Delegate to service
         Permit permit = permitService.getPermitById(id);
         
-        return ResponseEntity.ok(permit);
+        return RowVersionETags.conditional(request, permit.getRowVersion(), () -> permit);
     }
 
     /**
      * Get permit by permit number.
      * GET /api/permits/number/{permitNumber}
+     * Conditional: ETag is the row version; If-None-Match gets 304 while unchanged.
      */
     @GetMapping("/number/{permitNumber}")
-    public ResponseEntity<Permit> getPermitByNumber(@PathVariable String permitNumber) {
+    public ResponseEntity<Permit> getPermitByNumber(@PathVariable String permitNumber, HttpServletRequest request) {
         // Delegate to service
         Permit permit = permitService.getPermitByNumber(permitNumber);
         
-        return ResponseEntity.ok(permit);
+        return RowVersionETags.conditional(request, permit.getRowVersion(), () -> permit);
     }
 
     /**
      * Get permits for a specific university with pagination.
      * GET /api/permits/university/{universityId}?page=0&size=10
+     * GET /api/permits/university/{universityId}?cursor={nextCursor}&size=10
+     * includeTotal=false skips the total count (totalElements and totalPages are then -1)
      */
     @GetMapping("/university/{universityId}")
     @PreAuthorize("hasRole('INTERNAL_USER')")
     public ResponseEntity<PageResponse<Permit>> getPermitsByUniversity(
             @PathVariable Long universityId,
             @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
-            @RequestParam(name = "size", defaultValue = "10") @Min(1) int size) {
-        PageResponse<Permit> permitPage = permitService.getPermitsByUniversity(universityId, page, size);
+            @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "true") boolean includeTotal) {
+        PageResponse<Permit> permitPage = cursor != null
+            ? permitService.getPermitsByUniversityAfter(universityId, cursor, size, includeTotal)
+            : permitService.getPermitsByUniversity(universityId, page, size, includeTotal);
         return ResponseEntity.ok(permitPage);
     }
 
-    /**
-     * Extract current username from Spring Security context.
-     * Returns "anonymous" if not authenticated (for testing with security disabled).
-     */
-    private String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication != null && authentication.isAuthenticated() 
-            && !"anonymousUser".equals(authentication.getPrincipal())) {
-            Object principal = authentication.getPrincipal();
-            
-            // Handle UserPrincipal from JWT authentication
-            if (principal instanceof x.y.z.backend.security.JwtAuthenticationFilter.UserPrincipal) {
-                return ((x.y.z.backend.security.JwtAuthenticationFilter.UserPrincipal) principal).getEmail();
-            }
-            
-            // Fallback to getName() for other authentication types (OIDC, etc.)
-            return authentication.getName();
-        }
-        
-        return "anonymous";
+    private static Map<String, Function<Permit, Object>> exportColumns() {
+        Map<String, Function<Permit, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", Permit::getId);
+        columns.put("permitNumber", Permit::getPermitNumber);
+        columns.put("permitType", Permit::getPermitType);
+        columns.put("status", Permit::getStatus);
+        columns.put("issueDate", Permit::getIssueDate);
+        columns.put("expiryDate", Permit::getExpiryDate);
+        columns.put("holderId", Permit::getHolderId);
+        columns.put("universityId", Permit::getUniversityId);
+        columns.put("universityName", Permit::getUniversityName);
+        columns.put("description", Permit::getDescription);
+        columns.put("createdAt", Permit::getCreatedAt);
+        columns.put("createdBy", Permit::getCreatedBy);
+        columns.put("updatedAt", Permit::getUpdatedAt);
+        columns.put("updatedBy", Permit::getUpdatedBy);
+        return Collections.unmodifiableMap(columns);
     }
 }
@@ -0,0 +1,54 @@
+package x.y.z.backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * RenderedJson - A JSON response body serialized once, with a strong ETag over its bytes.
+ *
+ * Held by controllers that hand the same body to every caller until its data changes:
+ * each request then costs an ETag comparison, and either a 304 or a copy of the bytes
+ * to the socket - no map building or serialization.
+ */
+final class RenderedJson {
+
+    private final byte[] body;
+    private final String etag;
+
+    private RenderedJson(byte[] body) {
+        this.body = body;
+        this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    static RenderedJson of(ObjectMapper objectMapper, Object value) {
+        try {
+            return new RenderedJson(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response body", e);
+        }
+    }
+
+    /**
+     * @return 304 Not Modified if the request's If-None-Match matches, else 200 with the body
+     */
+    ResponseEntity<byte[]> respond(HttpServletRequest request, CacheControl cacheControl) {
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+}
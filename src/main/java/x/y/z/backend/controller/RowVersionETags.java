@@ -0,0 +1,112 @@
+package x.y.z.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import x.y.z.backend.exception.PreconditionFailedException;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * RowVersionETags - Strong ETags from an entity's SQL Server rowversion.
+ *
+ * The rowversion changes on every write to the row, so it identifies the exact
+ * representation served: GET answers If-None-Match with 304 before the entity is
+ * mapped or serialized, and PUT turns If-Match back into the version the UPDATE
+ * must still find.
+ */
+final class RowVersionETags {
+
+    private static final CacheControl ENTITY_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private RowVersionETags() {
+    }
+
+    /**
+     * @return the quoted ETag for a rowversion, or null when the entity carries none
+     */
+    static String eTag(byte[] rowVersion) {
+        return rowVersion == null ? null : "\"" + HexFormat.of().formatHex(rowVersion) + "\"";
+    }
+
+    /**
+     * 304 Not Modified if If-None-Match names the current version, else 200 with the body
+     * (built only in that case) and its ETag.
+     */
+    static <T> ResponseEntity<T> conditional(HttpServletRequest request, byte[] rowVersion, Supplier<T> body) {
+        String etag = eTag(rowVersion);
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (new ServletWebRequest(request).checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(ENTITY_CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(ENTITY_CACHE_CONTROL)
+                .body(body.get());
+    }
+
+    /**
+     * Parse an If-Match header into the rowversions a conditional update may match.
+     *
+     * Strong comparison (RFC 9110): weak tags (W/"...") and tags that are not a
+     * rowversion can never match, so they are skipped; any remaining entry of a list
+     * may match.
+     *
+     * @return the candidate rowversions, or null for no condition (header absent or "*")
+     * @throws PreconditionFailedException if no entry can match (412)
+     * @throws IllegalArgumentException if the header is not a list of entity tags (400)
+     */
+    static List<byte[]> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<byte[]> rowVersions = new ArrayList<>();
+        int i = 0;
+        int length = ifMatch.length();
+        while (i < length) {
+            char c = ifMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            boolean weak = ifMatch.startsWith("W/", i);
+            int open = weak ? i + 2 : i;
+            int close = open < length && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+            if (close < 0) {
+                throw new IllegalArgumentException("Invalid If-Match header: expected a list of ETags");
+            }
+            if (!weak) {
+                byte[] rowVersion = parseRowVersion(ifMatch.substring(open + 1, close));
+                if (rowVersion != null) {
+                    rowVersions.add(rowVersion);
+                }
+            }
+            i = close + 1;
+        }
+        if (rowVersions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not name a current version of the resource");
+        }
+        return rowVersions;
+    }
+
+    /**
+     * @return the rowversion an opaque tag encodes, or null if it is not one of ours
+     */
+    private static byte[] parseRowVersion(String opaqueTag) {
+        try {
+            return HexFormat.of().parseHex(opaqueTag);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
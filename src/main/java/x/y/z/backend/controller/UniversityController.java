@@ -1,27 +1,40 @@
 package x.y.z.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import x.y.z.backend.domain.model.University;
 import x.y.z.backend.service.UniversityService;
 
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * REST controller for University reference data.
+ *
+ * Responses are serialized once per version of the university data and served with a
+ * strong ETag; clients revalidate on every use (no-cache) and get 304 while the data
+ * is unchanged.
  */
 @RestController
 @RequestMapping("/api/universities")
 public class UniversityController {
 
+    private static final CacheControl REFERENCE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final UniversityService universityService;
+    private final ObjectMapper objectMapper;
+
+    private volatile Rendered rendered;
 
-    public UniversityController(UniversityService universityService) {
+    public UniversityController(UniversityService universityService, ObjectMapper objectMapper) {
         this.universityService = universityService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -29,9 +42,8 @@ public UniversityController(UniversityService universityService) {
      */
     @GetMapping
     @PreAuthorize("hasRole('INTERNAL_USER')")
-    public ResponseEntity<List<University>> getActiveUniversities() {
-        List<University> universities = universityService.getActiveUniversities();
-        return ResponseEntity.ok(universities);
+    public ResponseEntity<byte[]> getActiveUniversities(HttpServletRequest request) {
+        return rendered().activeUniversities.respond(request, REFERENCE_CACHE_CONTROL);
     }
 
     /**
@@ -39,8 +51,36 @@ public ResponseEntity<List<University>> getActiveUniversities() {
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('INTERNAL_USER')")
-    public ResponseEntity<University> getUniversityById(@PathVariable Long id) {
-        University university = universityService.getUniversityById(id);
-        return ResponseEntity.ok(university);
+    public ResponseEntity<byte[]> getUniversityById(@PathVariable Long id, HttpServletRequest request) {
+        RenderedJson university = rendered().byId.computeIfAbsent(id,
+                key -> RenderedJson.of(objectMapper, universityService.getUniversityById(key)));
+        return university.respond(request, REFERENCE_CACHE_CONTROL);
+    }
+
+    /**
+     * Helper: Rendered responses for the current university data, re-rendered when it changes
+     */
+    private Rendered rendered() {
+        Object version = universityService.getDataVersion();
+        Rendered current = rendered;
+        if (current == null || current.version != version) {
+            current = new Rendered(version,
+                    RenderedJson.of(objectMapper, universityService.getActiveUniversities()));
+            rendered = current;
+        }
+        return current;
+    }
+
+    private static final class Rendered {
+
+        final Object version;
+        final RenderedJson activeUniversities;
+        /** Rendered lazily; only existing ids are ever stored */
+        final Map<Long, RenderedJson> byId = new ConcurrentHashMap<>();
+
+        Rendered(Object version, RenderedJson activeUniversities) {
+            this.version = version;
+            this.activeUniversities = activeUniversities;
+        }
     }
 }
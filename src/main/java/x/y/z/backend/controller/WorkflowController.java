@@ -1,16 +1,24 @@
 package x.y.z.backend.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import x.y.z.backend.config.CurrentUser;
 import x.y.z.backend.domain.dto.PageResponse;
 import x.y.z.backend.domain.model.Task;
 import x.y.z.backend.service.ProcessService;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * REST Controller for Workflow Task operations.
  * 
@@ -30,40 +38,82 @@
 public class WorkflowController {
 
     private final ProcessService processService;
+    private final ExportWriter exportWriter;
+
+    /** CSV export columns, in order */
+    private static final Map<String, Function<Task, Object>> EXPORT_COLUMNS = exportColumns();
 
-    public WorkflowController(ProcessService processService) {
+    public WorkflowController(ProcessService processService, ExportWriter exportWriter) {
         this.processService = processService;
+        this.exportWriter = exportWriter;
     }
 
     /**
      * Get tasks assigned to the current user with pagination.
      * GET /api/workflow/tasks?page=0&size=10
+     * GET /api/workflow/tasks?cursor={nextCursor}&size=10 (keyset paging; cursor= for the first page)
+     * includeTotal=false skips the total count (totalElements and totalPages are then -1)
      */
     @GetMapping("/tasks")
     public ResponseEntity<PageResponse<Task>> getMyTasks(
             @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
             @RequestParam(name = "size", defaultValue = "10") @Min(1) int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "true") boolean includeTotal,
             CurrentUser user) {
         
-        // Extract current user from security context
-        String currentUser = user.getEmail();
+        // User ID comes from the access token - no user lookup
+        Long userId = user.getUserId();
         
-        // Delegate to service
-        PageResponse<Task> taskPage = processService.getTasksByUser(currentUser, page, size);
+        // Delegate to service - a cursor selects keyset paging, otherwise offset paging
+        PageResponse<Task> taskPage = cursor != null
+            ? processService.getTasksByAssigneeAfter(userId, cursor, size, includeTotal)
+            : processService.getTasksByAssignee(userId, page, size, includeTotal);
         
         return ResponseEntity.ok(taskPage);
     }
 
+    /**
+     * Export all tasks, streamed row by row.
+     * GET /api/workflow/tasks/export?format=ndjson|csv
+     */
+    @GetMapping("/tasks/export")
+    @PreAuthorize("hasRole('INTERNAL_USER')")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        return exportWriter.stream(format, "tasks", EXPORT_COLUMNS, processService::exportTasks);
+    }
+
     /**
      * Get task by ID.
      * GET /api/workflow/tasks/{id}
+     * Conditional: ETag is the row version; If-None-Match gets 304 while unchanged.
      */
     @GetMapping("/tasks/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable @Min(1) Long id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable @Min(1) Long id, HttpServletRequest request) {
         // Delegate to service
         Task task = processService.getTaskById(id);
         
-        return ResponseEntity.ok(task);
+        return RowVersionETags.conditional(request, task.getRowVersion(), () -> task);
+    }
+
+    private static Map<String, Function<Task, Object>> exportColumns() {
+        Map<String, Function<Task, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", Task::getId);
+        columns.put("function", Task::getFunction);
+        columns.put("task", Task::getTask);
+        columns.put("applicationNumber", Task::getApplicationNumber);
+        columns.put("applicationName", Task::getApplicationName);
+        columns.put("issuingOffice", Task::getIssuingOffice);
+        columns.put("type", Task::getType);
+        columns.put("status", Task::getStatus);
+        columns.put("assignedTo", Task::getAssignedTo);
+        columns.put("dueDate", Task::getDueDate);
+        columns.put("createdAt", Task::getCreatedAt);
+        columns.put("createdBy", Task::getCreatedBy);
+        columns.put("updatedAt", Task::getUpdatedAt);
+        columns.put("updatedBy", Task::getUpdatedBy);
+        return Collections.unmodifiableMap(columns);
     }
 
     /**
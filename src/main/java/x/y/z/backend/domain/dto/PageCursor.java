@@ -0,0 +1,99 @@
+package x.y.z.backend.domain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Opaque keyset (seek) pagination cursor.
+ *
+ * Holds the sort key values of the last row of a page, followed by its id as the
+ * tie-breaker, so the next page can continue with "rows after this one" instead of
+ * OFFSET. Clients treat the encoded form as an opaque string and pass it back
+ * unchanged.
+ *
+ * Encoded as URL-safe Base64 (no padding) of "v1|value|value|...|id"; null values
+ * are encoded as empty fields.
+ */
+public final class PageCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final List<String> values;
+
+    private PageCursor(List<String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Encode sort key values (in ORDER BY order, id last) into an opaque cursor.
+     */
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (Object key : keys) {
+            raw.append(SEPARATOR).append(key != null ? key.toString() : "");
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode(Object...)}.
+     *
+     * @param cursor The opaque cursor from the client
+     * @param expectedKeys Number of key values the endpoint's cursor carries, id included
+     * @throws IllegalArgumentException if the cursor is malformed or for a different sort
+     */
+    public static PageCursor decode(String cursor, int expectedKeys) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        // The trailing id is the tie-breaker and can never be null
+        if (parts.length != expectedKeys + 1 || !VERSION.equals(parts[0])
+                || parts[parts.length - 1].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<String> values = new ArrayList<>(expectedKeys);
+        for (int i = 1; i < parts.length; i++) {
+            values.add(parts[i].isEmpty() ? null : parts[i]);
+        }
+        return new PageCursor(Collections.unmodifiableList(values));
+    }
+
+    public Long getLong(int index) {
+        String value = values.get(index);
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        String value = values.get(index);
+        try {
+            return value != null ? LocalDateTime.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDate getDate(int index) {
+        String value = values.get(index);
+        try {
+            return value != null ? LocalDate.parse(value) : null;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
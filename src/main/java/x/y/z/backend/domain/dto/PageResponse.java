@@ -1,11 +1,21 @@
 package x.y.z.backend.domain.dto;
 
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 /**
  * Generic paginated response wrapper.
  * Used to return paginated data with metadata.
  *
+ * Supports both offset paging (page/size) and keyset paging: nextCursor, when
+ * present, is an opaque {@link PageCursor} that fetches the page after this one.
+ * Cursor pages have no page number, so page is -1 for them.
+ *
+ * When the client asks for no total (includeTotal=false), totalElements and
+ * totalPages are -1 and last is decided by probing for one extra row.
+ *
  * @param <T> The type of data in the page
  */
 public class PageResponse<T> {
@@ -17,6 +27,7 @@
     private int totalPages;
     private boolean first;
     private boolean last;
+    private String nextCursor;
 
     // Default constructor
     public PageResponse() {
@@ -33,6 +44,78 @@ public PageResponse(List<T> content, int page, int size, long totalElements) {
         this.last = page >= totalPages - 1;
     }
 
+    // Constructor for keyset (cursor) pages
+    public PageResponse(List<T> content, int size, long totalElements, boolean first, String nextCursor) {
+        this.content = content;
+        this.page = -1;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
+        this.first = first;
+        this.last = nextCursor == null;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build an offset page from rows fetched with their total attached (COUNT(*) OVER()).
+     *
+     * With includeTotal the rows were fetched with limit size, and the total comes off the
+     * first row; a page past the end has no rows to carry it, so countFallback is asked
+     * instead. Without includeTotal the rows were fetched with limit size + 1 and the
+     * extra row only tells whether another page exists.
+     */
+    public static <T> PageResponse<T> fromRows(List<PageRow<T>> rows, int page, int size,
+                                               boolean includeTotal, LongSupplier countFallback) {
+        List<T> items = rows.stream().map(PageRow::getItem).collect(Collectors.toList());
+        if (includeTotal) {
+            long totalElements = !rows.isEmpty() ? rows.get(0).getTotalCount()
+                    : page == 0 ? 0 : countFallback.getAsLong();
+            return new PageResponse<>(items, page, size, totalElements);
+        }
+        boolean hasMore = items.size() > size;
+        PageResponse<T> response = new PageResponse<>();
+        response.setContent(hasMore ? items.subList(0, size) : items);
+        response.setPage(page);
+        response.setSize(size);
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        response.setFirst(page == 0);
+        response.setLast(!hasMore);
+        return response;
+    }
+
+    /**
+     * Build a keyset page from up to size + 1 fetched rows; the extra row only signals
+     * that another page exists and is not returned.
+     *
+     * @param rows Rows fetched with limit size + 1
+     * @param cursorOf Encodes a row's sort key into the cursor for the following page
+     */
+    public static <T> PageResponse<T> keyset(List<T> rows, int size, long totalElements, boolean first,
+                                             Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new PageResponse<>(rows, size, totalElements, first, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new PageResponse<>(content, size, totalElements, first, cursorOf.apply(content.get(size - 1)));
+    }
+
+    /**
+     * Copy of this page's metadata around different content (e.g. DTOs).
+     */
+    public <R> PageResponse<R> withContent(List<R> newContent) {
+        PageResponse<R> copy = new PageResponse<>();
+        copy.setContent(newContent);
+        copy.setPage(page);
+        copy.setSize(size);
+        copy.setTotalElements(totalElements);
+        copy.setTotalPages(totalPages);
+        copy.setFirst(first);
+        copy.setLast(last);
+        copy.setNextCursor(nextCursor);
+        return copy;
+    }
+
     // Getters and Setters
     public List<T> getContent() {
         return content;
@@ -89,4 +172,12 @@ public boolean isLast() {
     public void setLast(boolean last) {
         this.last = last;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
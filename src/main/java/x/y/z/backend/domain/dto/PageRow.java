@@ -0,0 +1,38 @@
+package x.y.z.backend.domain.dto;
+
+/**
+ * One row of a paginated query that also returns the total match count
+ * (COUNT(*) OVER()), so a page and its total come back in a single statement.
+ *
+ * @param <T> The type of the row's entity
+ */
+public class PageRow<T> {
+
+    private Long id;           // Row id - lets MyBatis keep one PageRow per result row
+    private long totalCount;   // Total rows matching the filter, repeated on every row
+    private T item;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public void setItem(T item) {
+        this.item = item;
+    }
+}
@@ -0,0 +1,27 @@
+package x.y.z.backend.domain.dto;
+
+/**
+ * A block of numbers reserved from a database sequence in one round trip:
+ * firstValue (inclusive) up to firstValue + blockSize (exclusive).
+ */
+public class SequenceBlock {
+
+    private long firstValue;
+    private long blockSize;
+
+    public long getFirstValue() {
+        return firstValue;
+    }
+
+    public void setFirstValue(long firstValue) {
+        this.firstValue = firstValue;
+    }
+
+    public long getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(long blockSize) {
+        this.blockSize = blockSize;
+    }
+}
@@ -6,11 +6,9 @@
 import x.y.z.backend.controller.dto.ApplicationSubmissionRequest;
 import x.y.z.backend.domain.model.Application;
 import x.y.z.backend.domain.model.University;
+import x.y.z.backend.handler.ApplicationCodeAllocator;
+import x.y.z.backend.handler.UniversityHandler;
 import x.y.z.backend.repository.mapper.ApplicationMapper;
-import x.y.z.backend.repository.mapper.UniversityMapper;
-
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Handler for application submission data operations.
@@ -22,11 +20,14 @@ public class ApplicationSubmissionHandler {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationSubmissionHandler.class);
 
     private final ApplicationMapper applicationMapper;
-    private final UniversityMapper universityMapper;
+    private final UniversityHandler universityHandler;
+    private final ApplicationCodeAllocator codeAllocator;
 
-    public ApplicationSubmissionHandler(ApplicationMapper applicationMapper, UniversityMapper universityMapper) {
+    public ApplicationSubmissionHandler(ApplicationMapper applicationMapper, UniversityHandler universityHandler,
+                                        ApplicationCodeAllocator codeAllocator) {
         this.applicationMapper = applicationMapper;
-        this.universityMapper = universityMapper;
+        this.universityHandler = universityHandler;
+        this.codeAllocator = codeAllocator;
     }
 
     /**
@@ -44,7 +45,7 @@ public Application createApplicationFromRequest(ApplicationSubmissionRequest req
         
         // Map fields from request
         application.setApplicationName(request.getApplicationName());
-        application.setApplicationCode(generateApplicationCode());
+        application.setApplicationCode(codeAllocator.nextCode());
         application.setDescription(buildDescription(request));
         application.setStatus("PENDING");
         application.setOwnerName(request.getFirstName() + " " + request.getLastName());
@@ -52,9 +53,9 @@ public Application createApplicationFromRequest(ApplicationSubmissionRequest req
         application.setCreatedBy(username);
         application.setUpdatedBy(username);
 
-        // Look up university by name and set university_id
+        // Look up university by name (in-memory reference snapshot) and set university_id
         if (request.getUniversity() != null && !request.getUniversity().isEmpty()) {
-            University university = universityMapper.findByName(request.getUniversity());
+            University university = universityHandler.findByName(request.getUniversity());
             if (university != null) {
                 application.setUniversityId(university.getId());
                 logger.info("Resolved university '{}' to ID: {}", request.getUniversity(), university.getId());
@@ -63,27 +64,16 @@ public Application createApplicationFromRequest(ApplicationSubmissionRequest req
             }
         }
 
-        // Insert into database using MyBatis
-        int rowsInserted = applicationMapper.insert(application);
+        // Insert into database using MyBatis (returns the stored row)
+        Application inserted = applicationMapper.insert(application);
 
-        if (rowsInserted == 0) {
+        if (inserted == null) {
             throw new RuntimeException("Failed to insert application into database");
         }
 
-        logger.info("Application inserted successfully with code: {}", application.getApplicationCode());
+        logger.info("Application inserted successfully with code: {}", inserted.getApplicationCode());
         
-        return application;
-    }
-
-    /**
-     * Generate a unique application code.
-     * Format: APP-YYYYMMDD-HHMMSS-XXX
-     */
-    private String generateApplicationCode() {
-        LocalDateTime now = LocalDateTime.now();
-        String timestamp = now.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
-        int random = (int) (Math.random() * 1000);
-        return String.format("APP-%s-%03d", timestamp, random);
+        return inserted;
     }
 
     /**
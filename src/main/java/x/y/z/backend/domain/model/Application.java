@@ -1,6 +1,9 @@
 package x.y.z.backend.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Application POJO - Domain model representing an application entity.
@@ -21,6 +24,8 @@ public class Application {
     private String createdBy;
     private LocalDateTime updatedAt;
     private String updatedBy;
+    private byte[] rowVersion;   // SQL Server rowversion - served as the ETag header, not in the body
+    private List<byte[]> expectedRowVersions; // Conditional update only (If-Match) - not persisted
 
     // Default constructor
     public Application() {
@@ -142,6 +147,24 @@ public void setUpdatedBy(String updatedBy) {
         this.updatedBy = updatedBy;
     }
 
+    @JsonIgnore
+    public byte[] getRowVersion() {
+        return rowVersion;
+    }
+
+    public void setRowVersion(byte[] rowVersion) {
+        this.rowVersion = rowVersion;
+    }
+
+    @JsonIgnore
+    public List<byte[]> getExpectedRowVersions() {
+        return expectedRowVersions;
+    }
+
+    public void setExpectedRowVersions(List<byte[]> expectedRowVersions) {
+        this.expectedRowVersions = expectedRowVersions;
+    }
+
     @Override
     public String toString() {
         return "Application{" +
@@ -1,5 +1,7 @@
 package x.y.z.backend.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDateTime;
 
 /**
@@ -23,6 +25,7 @@ public class Task {
     private String createdBy;
     private LocalDateTime updatedAt;
     private String updatedBy;
+    private byte[] rowVersion;   // SQL Server rowversion - served as the ETag header, not in the body
 
     // Default constructor
     public Task() {
@@ -152,6 +155,15 @@ public void setUpdatedBy(String updatedBy) {
         this.updatedBy = updatedBy;
     }
 
+    @JsonIgnore
+    public byte[] getRowVersion() {
+        return rowVersion;
+    }
+
+    public void setRowVersion(byte[] rowVersion) {
+        this.rowVersion = rowVersion;
+    }
+
     @Override
     public String toString() {
         return "Task{" +
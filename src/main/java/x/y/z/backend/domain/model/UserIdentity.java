@@ -0,0 +1,74 @@
+package x.y.z.backend.domain.model;
+
+import java.util.List;
+
+/**
+ * UserIdentity POJO - Read-only projection of a user for token minting and login.
+ * Loaded in a single query (USER_INFO joined with aggregated role names); by id,
+ * UserHandler takes the role names from its per-user role cache when it holds them.
+ * This is a plain Java object without JPA annotations, used with MyBatis.
+ */
+public class UserIdentity {
+
+    private Long id;
+    private String email;
+    private Boolean isActive;
+    private List<String> roles = List.of();
+
+    // Default constructor
+    public UserIdentity() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    /**
+     * @return Role names (empty if the user has no roles)
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles != null ? roles : List.of();
+    }
+
+    /**
+     * Set from the role_names column: comma-separated, ordered by role name (STRING_AGG).
+     */
+    public void setRoleNames(String roleNames) {
+        this.roles = roleNames == null || roleNames.isEmpty() ? List.of() : List.of(roleNames.split(","));
+    }
+
+    @Override
+    public String toString() {
+        return "UserIdentity{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                ", isActive=" + isActive +
+                ", roles=" + roles +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package x.y.z.backend.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserTokenEpoch POJO - Domain model representing a user's access token epoch.
+ * Access tokens issued (iat) before notBefore are treated as revoked.
+ * This is a plain Java object without JPA annotations, used with MyBatis.
+ */
+public class UserTokenEpoch {
+
+    private Long userId;
+    private Long notBefore;          // Epoch seconds
+    private String reason;           // e.g., 'DEACTIVATED', 'ROLE_CHANGE', 'LOGOUT_ALL'
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public UserTokenEpoch() {
+    }
+
+    // Constructor for bumping the epoch
+    public UserTokenEpoch(Long userId, Long notBefore, String reason) {
+        this.userId = userId;
+        this.notBefore = notBefore;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getNotBefore() {
+        return notBefore;
+    }
+
+    public void setNotBefore(Long notBefore) {
+        this.notBefore = notBefore;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserTokenEpoch{" +
+                "userId=" + userId +
+                ", notBefore=" + notBefore +
+                ", reason='" + reason + '\'' +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
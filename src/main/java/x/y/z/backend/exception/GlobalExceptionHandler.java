@@ -74,6 +74,20 @@ public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNot
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * Handle stale conditional writes (If-Match no longer matches the current version).
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "PRECONDITION_FAILED",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
     /**
      * Handle access denied errors (role-based authorization failures).
      */
@@ -0,0 +1,17 @@
+package x.y.z.backend.exception;
+
+/**
+ * Exception thrown when a conditional write (If-Match) targets a version of a
+ * resource that has since been changed by someone else.
+ * Handled by GlobalExceptionHandler to return 412 PRECONDITION FAILED.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String resourceType, Long id) {
+        super(resourceType + " with ID " + id + " was modified by another request");
+    }
+}
@@ -0,0 +1,56 @@
+package x.y.z.backend.handler;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import x.y.z.backend.repository.mapper.AppLockMapper;
+
+/**
+ * AppLockHandler - Cluster-wide mutual exclusion via SQL Server application locks.
+ * Pure data access - business logic should be in the Service layer.
+ *
+ * The lock is owned by a dedicated session that stays open while the work runs, so
+ * the work itself can use ordinary (auto-committing) mapper calls on other pooled
+ * connections. The lock is released explicitly: returning the connection to the pool
+ * would not end the session, and therefore would not drop the lock.
+ */
+@Component
+public class AppLockHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppLockHandler.class);
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public AppLockHandler(@Qualifier("authSqlSessionFactory") SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    /**
+     * Run work while holding an exclusive application lock.
+     *
+     * @param resource Lock name (shared by all replicas)
+     * @param work Work to run under the lock
+     * @return true if the lock was obtained and the work ran, false if another holder has it
+     */
+    public boolean runExclusive(String resource, Runnable work) {
+        try (SqlSession session = sqlSessionFactory.openSession(true)) {
+            AppLockMapper lockMapper = session.getMapper(AppLockMapper.class);
+            if (lockMapper.tryAcquire(resource) < 0) {
+                return false;
+            }
+            try {
+                work.run();
+                return true;
+            } finally {
+                try {
+                    lockMapper.release(resource);
+                } catch (Exception e) {
+                    logger.warn("Failed to release application lock '{}': {}", resource, e.getMessage());
+                }
+            }
+        }
+    }
+}
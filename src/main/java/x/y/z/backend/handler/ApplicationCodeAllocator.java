@@ -0,0 +1,91 @@
+package x.y.z.backend.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.dto.SequenceBlock;
+import x.y.z.backend.repository.mapper.ApplicationMapper;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ApplicationCodeAllocator - Hands out unique application codes (APP-yyyyMMdd-nnnnnnn).
+ *
+ * Numbers come from RAP.application_code_seq in blocks: one sp_sequence_get_range
+ * call reserves application-code.block-size consecutive numbers, which are then
+ * handed out from memory with a single atomic increment. Only the thread that finds
+ * the block exhausted goes back to the database. Every reservation is a disjoint
+ * range of the sequence, even when replicas are configured with different block
+ * sizes, so codes are unique cluster-wide without a pre-check query; numbers of a
+ * block left unused at shutdown are skipped.
+ */
+@Component
+public class ApplicationCodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationCodeAllocator.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ApplicationMapper applicationMapper;
+    private final int blockSize;
+
+    private volatile Block block = new Block(0, 0);
+
+    public ApplicationCodeAllocator(
+            ApplicationMapper applicationMapper,
+            @Value("${application-code.block-size:100}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("application-code.block-size must be positive");
+        }
+        this.applicationMapper = applicationMapper;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return a new application code, never handed out before
+     */
+    public String nextCode() {
+        return String.format("APP-%s-%07d", LocalDate.now().format(DATE_FORMAT), nextNumber());
+    }
+
+    private long nextNumber() {
+        while (true) {
+            Block current = block;
+            long number = current.next.getAndIncrement();
+            if (number < current.end) {
+                return number;
+            }
+            reserve(current);
+        }
+    }
+
+    /**
+     * Replace the exhausted block, unless another thread already has.
+     */
+    private synchronized void reserve(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+        SequenceBlock reserved = applicationMapper.nextCodeBlock(blockSize);
+        if (reserved == null || reserved.getBlockSize() != blockSize) {
+            throw new IllegalStateException("Failed to reserve numbers from sequence RAP.application_code_seq");
+        }
+        block = new Block(reserved.getFirstValue(), reserved.getFirstValue() + reserved.getBlockSize());
+        logger.debug("Reserved application code numbers {} to {}",
+                reserved.getFirstValue(), reserved.getFirstValue() + reserved.getBlockSize() - 1);
+    }
+
+    private static final class Block {
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package x.y.z.backend.handler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.dto.PageCursor;
 import x.y.z.backend.domain.dto.PageResponse;
+import x.y.z.backend.domain.dto.PageRow;
 import x.y.z.backend.domain.model.Application;
 import x.y.z.backend.repository.mapper.ApplicationMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * ApplicationHandler - Handles CRUD operations and data access logic.
  * This handler encapsulates data access operations and calls MyBatis mappers.
  * Business logic should be in the Service layer, not here.
+ *
+ * findById / findByCode read through a bounded {@link EntityCache}; insert, update and delete
+ * invalidate the entry immediately and again after the transaction completes.
  * 
  * Pattern: REST Controller → Service (Business Logic + @Transactional) → Handler (Data Access) → MyBatis Mapper
  */
@@ -19,57 +30,69 @@ public class ApplicationHandler {
 
     private final ApplicationMapper applicationMapper;
 
-    public ApplicationHandler(ApplicationMapper applicationMapper) {
+    /** Read-through cache for single-application lookups, invalidated on every write */
+    private final EntityCache<Application> cache;
+
+    public ApplicationHandler(
+            ApplicationMapper applicationMapper,
+            MeterRegistry meterRegistry,
+            @Value("${entity-cache.max-size:10000}") long maxSize,
+            @Value("${entity-cache.ttl-seconds:60}") long ttlSeconds) {
         this.applicationMapper = applicationMapper;
+        this.cache = new EntityCache<>("application", meterRegistry, maxSize, ttlSeconds,
+                applicationMapper::findById, Application::getId,
+                applicationMapper::findByApplicationCode, Application::getApplicationCode);
     }
 
     /**
      * Insert a new application record.
      * Pure data access - no business logic.
+     * @return the stored row (INSERT ... OUTPUT INSERTED.*, one round trip)
      */
     public Application insert(Application application) {
-        int rowsInserted = applicationMapper.insert(application);
-        if (rowsInserted == 0) {
+        Application inserted = applicationMapper.insert(application);
+        if (inserted == null) {
             throw new RuntimeException("Failed to insert application");
         }
-        return application; // ID is populated by MyBatis (useGeneratedKeys)
+        cache.invalidate(inserted.getId());
+        return inserted;
     }
 
     /**
      * Update an existing application record.
      * Pure data access - no business logic.
+     * @return the updated row (UPDATE ... OUTPUT INSERTED.*, one round trip),
+     *         or null if no application with this id and code (and row version, if set) exists
      */
     public Application update(Application application) {
-        int rowsUpdated = applicationMapper.update(application);
-        if (rowsUpdated == 0) {
-            throw new RuntimeException("Failed to update application");
-        }
-        return applicationMapper.findById(application.getId());
+        Application updated = applicationMapper.update(application);
+        cache.invalidate(application.getId());
+        return updated;
     }
 
     /**
      * Delete an application by ID.
      * Pure data access - no business logic.
+     * @return the number of rows deleted (0 if no application with this id exists)
      */
-    public void delete(Long id) {
+    public int delete(Long id) {
         int rowsDeleted = applicationMapper.deleteById(id);
-        if (rowsDeleted == 0) {
-            throw new RuntimeException("Failed to delete application with ID: " + id);
-        }
+        cache.invalidate(id);
+        return rowsDeleted;
     }
 
     /**
      * Find application by ID.
      */
     public Application findById(Long id) {
-        return applicationMapper.findById(id);
+        return cache.findById(id);
     }
 
     /**
      * Find application by unique code.
      */
     public Application findByCode(String applicationCode) {
-        return applicationMapper.findByApplicationCode(applicationCode);
+        return cache.findByKey(applicationCode);
     }
 
     /**
@@ -89,8 +112,46 @@ public List<Application> findByStatus(String status) {
     /**
      * Search applications by name pattern.
      */
-    public List<Application> searchByName(String namePattern) {
-        return applicationMapper.searchByName(namePattern);
+    public List<Application> searchByName(String namePattern, int limit) {
+        return applicationMapper.searchByName(namePattern, limit);
+    }
+
+    /**
+     * Search applications whose name starts with a prefix.
+     */
+    public List<Application> searchByNamePrefix(String prefix, int limit) {
+        return applicationMapper.searchByNamePrefix(prefix, limit);
+    }
+
+    /**
+     * Find id, name and code of every application.
+     */
+    public List<Application> findSearchKeys() {
+        return applicationMapper.findSearchKeys();
+    }
+
+    /**
+     * Find applications by IDs, in no particular order.
+     */
+    public List<Application> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return applicationMapper.findByIds(ids);
+    }
+
+    /**
+     * Stream applications (optionally filtered by status and/or name) for export.
+     * Rows are handed to the consumer one at a time as they are read, so memory stays
+     * flat regardless of row count. Must be called inside a transaction, which keeps
+     * the cursor's connection open until the stream is drained.
+     */
+    public void streamApplications(String status, String namePattern, Consumer<Application> action) {
+        try (Cursor<Application> cursor = applicationMapper.streamApplications(status, namePattern)) {
+            cursor.forEach(action);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -112,20 +173,70 @@ public boolean existsByCode(String applicationCode) {
      * @param userEmail The user's email address
      * @param page The page number (0-indexed)
      * @param size The number of items per page
+     * @param includeTotal Whether to count the total; the count rides on the page query
      * @return PageResponse containing applications and pagination metadata
      */
-    public PageResponse<Application> findByUserPaginated(String userEmail, int page, int size) {
+    public PageResponse<Application> findByUserPaginated(String userEmail, int page, int size, boolean includeTotal) {
         int offset = page * size;
-        List<Application> applications = applicationMapper.findByUserPaginated(userEmail, offset, size);
-        long totalElements = applicationMapper.countByUser(userEmail);
+        List<PageRow<Application>> rows = applicationMapper.findByUserPaginated(
+                userEmail, offset, includeTotal ? size : size + 1, includeTotal);
         
-        return new PageResponse<>(applications, page, size, totalElements);
+        return withNextCursor(PageResponse.fromRows(rows, page, size, includeTotal,
+                () -> applicationMapper.countByUser(userEmail)));
     }
 
-    public PageResponse<Application> findByUniversityPaginated(Long universityId, int page, int size) {
+    public PageResponse<Application> findByUniversityPaginated(Long universityId, int page, int size, boolean includeTotal) {
         int offset = page * size;
-        List<Application> applications = applicationMapper.findByUniversityPaginated(universityId, offset, size);
-        long totalElements = applicationMapper.countByUniversity(universityId);
-        return new PageResponse<>(applications, page, size, totalElements);
+        List<PageRow<Application>> rows = applicationMapper.findByUniversityPaginated(
+                universityId, offset, includeTotal ? size : size + 1, includeTotal);
+        return withNextCursor(PageResponse.fromRows(rows, page, size, includeTotal,
+                () -> applicationMapper.countByUniversity(universityId)));
+    }
+
+    /**
+     * Find applications for a user with keyset pagination.
+     * @param userEmail The user's email address
+     * @param cursor Cursor from the previous page, or null/blank for the first page
+     * @param size The number of items per page
+     * @param includeTotal Whether to run the total count (a separate query for keyset pages)
+     * @return PageResponse whose nextCursor continues after its last row
+     */
+    public PageResponse<Application> findByUserAfter(String userEmail, String cursor, int size, boolean includeTotal) {
+        PageCursor after = decodeCursor(cursor);
+        List<Application> applications = applicationMapper.findByUserAfter(userEmail,
+                after != null ? after.getDateTime(0) : null,
+                after != null ? after.getLong(1) : null,
+                size + 1);
+        long totalElements = includeTotal ? applicationMapper.countByUser(userEmail) : -1;
+        return PageResponse.keyset(applications, size, totalElements, after == null, ApplicationHandler::cursorOf);
+    }
+
+    public PageResponse<Application> findByUniversityAfter(Long universityId, String cursor, int size, boolean includeTotal) {
+        PageCursor after = decodeCursor(cursor);
+        List<Application> applications = applicationMapper.findByUniversityAfter(universityId,
+                after != null ? after.getDateTime(0) : null,
+                after != null ? after.getLong(1) : null,
+                size + 1);
+        long totalElements = includeTotal ? applicationMapper.countByUniversity(universityId) : -1;
+        return PageResponse.keyset(applications, size, totalElements, after == null, ApplicationHandler::cursorOf);
+    }
+
+    /**
+     * Offset pages also carry a cursor so clients can switch to keyset paging.
+     */
+    private static PageResponse<Application> withNextCursor(PageResponse<Application> page) {
+        List<Application> content = page.getContent();
+        if (!page.isLast() && !content.isEmpty()) {
+            page.setNextCursor(cursorOf(content.get(content.size() - 1)));
+        }
+        return page;
+    }
+
+    private static PageCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor, 2);
+    }
+
+    private static String cursorOf(Application application) {
+        return PageCursor.encode(application.getCreatedAt(), application.getId());
     }
 }
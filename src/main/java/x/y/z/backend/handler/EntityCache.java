@@ -0,0 +1,127 @@
+package x.y.z.backend.handler;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import x.y.z.backend.config.ReadReplicaDataSource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * EntityCache - Bounded read-through cache of one entity type, used by the handlers.
+ *
+ * - byId: id -> entity
+ * - byKey (optional): unique business key -> id, resolved through byId and checked
+ *   against the entity's current key, so invalidating by id is enough
+ * Misses are not cached, so rows inserted elsewhere are visible immediately.
+ * Writes from other replicas become visible when entries expire (ttl).
+ * Rows loaded in a transaction served by the read replica are returned but not
+ * cached: the replica may still hold the version before a write this node just
+ * evicted, and caching it would serve that stale row (and its ETag) for the ttl.
+ *
+ * Exported to actuator as cache.* metrics with cache="&lt;name&gt;.byId" / "&lt;name&gt;.byKey".
+ * Cached entities are shared - callers must not modify them.
+ */
+final class EntityCache<V> {
+
+    private final Cache<Long, V> byId;
+    private final Cache<String, Long> byKey;
+    private final Function<Long, V> loadById;
+    private final Function<String, V> loadByKey;
+    private final Function<V, Long> idOf;
+    private final Function<V, String> keyOf;
+
+    EntityCache(String name, MeterRegistry meterRegistry, long maxSize, long ttlSeconds,
+                Function<Long, V> loadById, Function<V, Long> idOf) {
+        this(name, meterRegistry, maxSize, ttlSeconds, loadById, idOf, null, null);
+    }
+
+    EntityCache(String name, MeterRegistry meterRegistry, long maxSize, long ttlSeconds,
+                Function<Long, V> loadById, Function<V, Long> idOf,
+                Function<String, V> loadByKey, Function<V, String> keyOf) {
+        this.loadById = loadById;
+        this.idOf = idOf;
+        this.loadByKey = loadByKey;
+        this.keyOf = keyOf;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, name + ".byId");
+        if (loadByKey != null) {
+            this.byKey = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, byKey, name + ".byKey");
+        } else {
+            this.byKey = null;
+        }
+    }
+
+    V findById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        // The loader returns null (not cached) for replica rows and hands them over here
+        AtomicReference<V> replicaRow = new AtomicReference<>();
+        V cached = byId.get(id, key -> {
+            V loaded = loadById.apply(key);
+            if (loaded != null && ReadReplicaDataSource.isCurrentTransactionOnReplica()) {
+                replicaRow.set(loaded);
+                return null;
+            }
+            return loaded;
+        });
+        return cached != null ? cached : replicaRow.get();
+    }
+
+    V findByKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        Long id = byKey.getIfPresent(key);
+        if (id != null) {
+            V cached = findById(id);
+            if (cached != null && key.equals(keyOf.apply(cached))) {
+                return cached;
+            }
+            // Row deleted or re-keyed since the mapping was cached
+            byKey.invalidate(key);
+        }
+        V loaded = loadByKey.apply(key);
+        if (loaded != null && !ReadReplicaDataSource.isCurrentTransactionOnReplica()) {
+            Long loadedId = idOf.apply(loaded);
+            byId.put(loadedId, loaded);
+            byKey.put(key, loadedId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop the entity now, and again after the surrounding transaction completes so
+     * a concurrent reader (or this transaction itself) cannot leave the pre-commit
+     * or rolled-back state cached.
+     */
+    void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        byId.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    byId.invalidate(id);
+                }
+            });
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package x.y.z.backend.handler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.dto.PageCursor;
 import x.y.z.backend.domain.dto.PageResponse;
+import x.y.z.backend.domain.dto.PageRow;
 import x.y.z.backend.domain.model.Permit;
 import x.y.z.backend.repository.mapper.PermitMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * PermitHandler - Handles CRUD operations and data access logic for permits.
  * This handler encapsulates data access operations and calls MyBatis mappers.
  * Business logic should be in the Service layer, not here.
+ *
+ * findById / findByPermitNumber read through a bounded {@link EntityCache}; insert, update and delete
+ * invalidate the entry immediately and again after the transaction completes.
  * 
  * Pattern: REST Controller → Service (Business Logic + @Transactional) → Handler (Data Access) → MyBatis Mapper
  */
@@ -19,57 +30,69 @@ public class PermitHandler {
 
     private final PermitMapper permitMapper;
 
-    public PermitHandler(PermitMapper permitMapper) {
+    /** Read-through cache for single-permit lookups, invalidated on every write */
+    private final EntityCache<Permit> cache;
+
+    public PermitHandler(
+            PermitMapper permitMapper,
+            MeterRegistry meterRegistry,
+            @Value("${entity-cache.max-size:10000}") long maxSize,
+            @Value("${entity-cache.ttl-seconds:60}") long ttlSeconds) {
         this.permitMapper = permitMapper;
+        this.cache = new EntityCache<>("permit", meterRegistry, maxSize, ttlSeconds,
+                permitMapper::findById, Permit::getId,
+                permitMapper::findByPermitNumber, Permit::getPermitNumber);
     }
 
     /**
      * Insert a new permit record.
      * Pure data access - no business logic.
+     * @return the stored row (INSERT ... OUTPUT INSERTED.*, one round trip)
      */
     public Permit insert(Permit permit) {
-        int rowsInserted = permitMapper.insert(permit);
-        if (rowsInserted == 0) {
+        Permit inserted = permitMapper.insert(permit);
+        if (inserted == null) {
             throw new RuntimeException("Failed to insert permit");
         }
-        return permit; // ID is populated by MyBatis (useGeneratedKeys)
+        cache.invalidate(inserted.getId());
+        return inserted;
     }
 
     /**
      * Update an existing permit record.
      * Pure data access - no business logic.
+     * @return the updated row (UPDATE ... OUTPUT INSERTED.*, one round trip),
+     *         or null if no permit with this id and permit number exists
      */
     public Permit update(Permit permit) {
-        int rowsUpdated = permitMapper.update(permit);
-        if (rowsUpdated == 0) {
-            throw new RuntimeException("Failed to update permit");
-        }
-        return permitMapper.findById(permit.getId());
+        Permit updated = permitMapper.update(permit);
+        cache.invalidate(permit.getId());
+        return updated;
     }
 
     /**
      * Delete a permit by ID.
      * Pure data access - no business logic.
+     * @return the number of rows deleted (0 if no permit with this id exists)
      */
-    public void delete(Long id) {
+    public int delete(Long id) {
         int rowsDeleted = permitMapper.deleteById(id);
-        if (rowsDeleted == 0) {
-            throw new RuntimeException("Failed to delete permit with ID: " + id);
-        }
+        cache.invalidate(id);
+        return rowsDeleted;
     }
 
     /**
      * Find permit by ID.
      */
     public Permit findById(Long id) {
-        return permitMapper.findById(id);
+        return cache.findById(id);
     }
 
     /**
      * Find permit by permit number.
      */
     public Permit findByPermitNumber(String permitNumber) {
-        return permitMapper.findByPermitNumber(permitNumber);
+        return cache.findByKey(permitNumber);
     }
 
     /**
@@ -79,6 +102,20 @@ public List<Permit> findAll() {
         return permitMapper.findAll();
     }
 
+    /**
+     * Stream all permits for export.
+     * Rows are handed to the consumer one at a time as they are read, so memory stays
+     * flat regardless of row count. Must be called inside a transaction, which keeps
+     * the cursor's connection open until the stream is drained.
+     */
+    public void streamAll(Consumer<Permit> action) {
+        try (Cursor<Permit> cursor = permitMapper.streamAll()) {
+            cursor.forEach(action);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Find permits by status.
      */
@@ -109,23 +146,73 @@ public boolean existsByPermitNumber(String permitNumber) {
 
     /**
      * Find permits for a user with pagination.
-     * @param holderEmail The permit holder's email address
+     * @param holderId The permit holder's user ID
      * @param page The page number (0-indexed)
      * @param size The number of items per page
+     * @param includeTotal Whether to count the total; the count rides on the page query
      * @return PageResponse containing permits and pagination metadata
      */
-    public PageResponse<Permit> findByUserPaginated(String holderEmail, int page, int size) {
+    public PageResponse<Permit> findByUserPaginated(Long holderId, int page, int size, boolean includeTotal) {
         int offset = page * size;
-        List<Permit> permits = permitMapper.findByUserPaginated(holderEmail, offset, size);
-        long totalElements = permitMapper.countByUser(holderEmail);
+        List<PageRow<Permit>> rows = permitMapper.findByUserPaginated(
+                holderId, offset, includeTotal ? size : size + 1, includeTotal);
         
-        return new PageResponse<>(permits, page, size, totalElements);
+        return withNextCursor(PageResponse.fromRows(rows, page, size, includeTotal,
+                () -> permitMapper.countByUser(holderId)));
     }
 
-    public PageResponse<Permit> findByUniversityPaginated(Long universityId, int page, int size) {
+    public PageResponse<Permit> findByUniversityPaginated(Long universityId, int page, int size, boolean includeTotal) {
         int offset = page * size;
-        List<Permit> permits = permitMapper.findByUniversityPaginated(universityId, offset, size);
-        long totalElements = permitMapper.countByUniversity(universityId);
-        return new PageResponse<>(permits, page, size, totalElements);
+        List<PageRow<Permit>> rows = permitMapper.findByUniversityPaginated(
+                universityId, offset, includeTotal ? size : size + 1, includeTotal);
+        return withNextCursor(PageResponse.fromRows(rows, page, size, includeTotal,
+                () -> permitMapper.countByUniversity(universityId)));
+    }
+
+    /**
+     * Find permits for a holder with keyset pagination.
+     * @param holderId The permit holder's user ID
+     * @param cursor Cursor from the previous page, or null/blank for the first page
+     * @param size The number of items per page
+     * @param includeTotal Whether to run the total count (a separate query for keyset pages)
+     * @return PageResponse whose nextCursor continues after its last row
+     */
+    public PageResponse<Permit> findByUserAfter(Long holderId, String cursor, int size, boolean includeTotal) {
+        PageCursor after = decodeCursor(cursor);
+        List<Permit> permits = permitMapper.findByUserAfter(holderId,
+                after != null ? after.getDate(0) : null,
+                after != null ? after.getLong(1) : null,
+                size + 1);
+        long totalElements = includeTotal ? permitMapper.countByUser(holderId) : -1;
+        return PageResponse.keyset(permits, size, totalElements, after == null, PermitHandler::cursorOf);
+    }
+
+    public PageResponse<Permit> findByUniversityAfter(Long universityId, String cursor, int size, boolean includeTotal) {
+        PageCursor after = decodeCursor(cursor);
+        List<Permit> permits = permitMapper.findByUniversityAfter(universityId,
+                after != null ? after.getDate(0) : null,
+                after != null ? after.getLong(1) : null,
+                size + 1);
+        long totalElements = includeTotal ? permitMapper.countByUniversity(universityId) : -1;
+        return PageResponse.keyset(permits, size, totalElements, after == null, PermitHandler::cursorOf);
+    }
+
+    /**
+     * Offset pages also carry a cursor so clients can switch to keyset paging.
+     */
+    private static PageResponse<Permit> withNextCursor(PageResponse<Permit> page) {
+        List<Permit> content = page.getContent();
+        if (!page.isLast() && !content.isEmpty()) {
+            page.setNextCursor(cursorOf(content.get(content.size() - 1)));
+        }
+        return page;
+    }
+
+    private static PageCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor, 2);
+    }
+
+    private static String cursorOf(Permit permit) {
+        return PageCursor.encode(permit.getIssueDate(), permit.getId());
     }
 }
@@ -1,16 +1,27 @@
 package x.y.z.backend.handler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.dto.PageCursor;
 import x.y.z.backend.domain.dto.PageResponse;
+import x.y.z.backend.domain.dto.PageRow;
 import x.y.z.backend.domain.model.Task;
 import x.y.z.backend.repository.mapper.ProcessMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * ProcessHandler - Handles CRUD operations and data access logic for workflow tasks.
  * This handler encapsulates data access operations and calls MyBatis mappers.
  * Business logic should be in the Service layer, not here.
+ *
+ * findById read through a bounded {@link EntityCache}; insert, update and delete
+ * invalidate the entry immediately and again after the transaction completes.
  * 
  * Pattern: REST Controller → Service (Business Logic + @Transactional) → Handler (Data Access) → MyBatis Mapper
  */
@@ -19,50 +30,61 @@ public class ProcessHandler {
 
     private final ProcessMapper processMapper;
 
-    public ProcessHandler(ProcessMapper processMapper) {
+    /** Read-through cache for single-task lookups, invalidated on every write */
+    private final EntityCache<Task> cache;
+
+    public ProcessHandler(
+            ProcessMapper processMapper,
+            MeterRegistry meterRegistry,
+            @Value("${entity-cache.max-size:10000}") long maxSize,
+            @Value("${entity-cache.ttl-seconds:60}") long ttlSeconds) {
         this.processMapper = processMapper;
+        this.cache = new EntityCache<>("task", meterRegistry, maxSize, ttlSeconds,
+                processMapper::findById, Task::getId);
     }
 
     /**
      * Insert a new task record.
      * Pure data access - no business logic.
+     * @return the stored row (INSERT ... OUTPUT INSERTED.*, one round trip)
      */
     public Task insert(Task task) {
-        int rowsInserted = processMapper.insert(task);
-        if (rowsInserted == 0) {
+        Task inserted = processMapper.insert(task);
+        if (inserted == null) {
             throw new RuntimeException("Failed to insert task");
         }
-        return task; // ID is populated by MyBatis (useGeneratedKeys)
+        cache.invalidate(inserted.getId());
+        return inserted;
     }
 
     /**
      * Update an existing task record.
      * Pure data access - no business logic.
+     * @return the updated row (UPDATE ... OUTPUT INSERTED.*, one round trip),
+     *         or null if no task with this id exists
      */
     public Task update(Task task) {
-        int rowsUpdated = processMapper.update(task);
-        if (rowsUpdated == 0) {
-            throw new RuntimeException("Failed to update task");
-        }
-        return processMapper.findById(task.getId());
+        Task updated = processMapper.update(task);
+        cache.invalidate(task.getId());
+        return updated;
     }
 
     /**
      * Delete a task by ID.
      * Pure data access - no business logic.
+     * @return the number of rows deleted (0 if no task with this id exists)
      */
-    public void delete(Long id) {
+    public int delete(Long id) {
         int rowsDeleted = processMapper.deleteById(id);
-        if (rowsDeleted == 0) {
-            throw new RuntimeException("Failed to delete task with ID: " + id);
-        }
+        cache.invalidate(id);
+        return rowsDeleted;
     }
 
     /**
      * Find task by ID.
      */
     public Task findById(Long id) {
-        return processMapper.findById(id);
+        return cache.findById(id);
     }
 
     /**
@@ -72,6 +94,20 @@ public List<Task> findAll() {
         return processMapper.findAll();
     }
 
+    /**
+     * Stream all tasks for export.
+     * Rows are handed to the consumer one at a time as they are read, so memory stays
+     * flat regardless of row count. Must be called inside a transaction, which keeps
+     * the cursor's connection open until the stream is drained.
+     */
+    public void streamAll(Consumer<Task> action) {
+        try (Cursor<Task> cursor = processMapper.streamAll()) {
+            cursor.forEach(action);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Find tasks by status.
      */
@@ -95,16 +131,66 @@ public long count() {
 
     /**
      * Find tasks assigned to a user with pagination.
-     * @param assignedTo The user's email address
+     * @param assignedTo The assignee's user ID
      * @param page The page number (0-indexed)
      * @param size The number of items per page
+     * @param includeTotal Whether to count the total; the count rides on the page query
      * @return PageResponse containing tasks and pagination metadata
      */
-    public PageResponse<Task> findByUserPaginated(String assignedTo, int page, int size) {
+    public PageResponse<Task> findByUserPaginated(Long assignedTo, int page, int size, boolean includeTotal) {
         int offset = page * size;
-        List<Task> tasks = processMapper.findByUserPaginated(assignedTo, offset, size);
-        long totalElements = processMapper.countByUser(assignedTo);
+        List<PageRow<Task>> rows = processMapper.findByUserPaginated(
+                assignedTo, offset, includeTotal ? size : size + 1, includeTotal);
         
-        return new PageResponse<>(tasks, page, size, totalElements);
+        return withNextCursor(PageResponse.fromRows(rows, page, size, includeTotal,
+                () -> processMapper.countByUser(assignedTo)));
+    }
+
+    /**
+     * Find tasks assigned to a user with keyset pagination.
+     * @param assignedTo The assignee's user ID
+     * @param cursor Cursor from the previous page, or null/blank for the first page
+     * @param size The number of items per page
+     * @param includeTotal Whether to run the total count (a separate query for keyset pages)
+     * @return PageResponse whose nextCursor continues after its last row
+     */
+    public PageResponse<Task> findByUserAfter(Long assignedTo, String cursor, int size, boolean includeTotal) {
+        PageCursor after = decodeCursor(cursor);
+        List<Task> tasks = processMapper.findByUserAfter(assignedTo,
+                after != null ? after.getDateTime(0) : null,
+                after != null ? after.getDateTime(1) : null,
+                after != null ? after.getLong(2) : null,
+                size + 1);
+        long totalElements = includeTotal ? processMapper.countByUser(assignedTo) : -1;
+        return PageResponse.keyset(tasks, size, totalElements, after == null, ProcessHandler::cursorOf);
+    }
+
+    /**
+     * Offset pages also carry a cursor so clients can switch to keyset paging.
+     */
+    private static PageResponse<Task> withNextCursor(PageResponse<Task> page) {
+        List<Task> content = page.getContent();
+        if (!page.isLast() && !content.isEmpty()) {
+            page.setNextCursor(cursorOf(content.get(content.size() - 1)));
+        }
+        return page;
+    }
+
+    /**
+     * Task cursors are (due_date, created_at, id); due_date may be null, created_at may not.
+     */
+    private static PageCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        PageCursor after = PageCursor.decode(cursor, 3);
+        if (after.getDateTime(1) == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return after;
+    }
+
+    private static String cursorOf(Task task) {
+        return PageCursor.encode(task.getDueDate(), task.getCreatedAt(), task.getId());
     }
 }
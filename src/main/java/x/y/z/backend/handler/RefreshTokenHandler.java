@@ -6,6 +6,7 @@
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * RefreshTokenHandler - Handles refresh token data access operations.
@@ -52,6 +53,14 @@ public void revokeAllByUserId(Long userId, LocalDateTime revokedAt) {
         refreshTokenMapper.revokeAllByUserId(userId, revokedAt);
     }
 
+    public void updateLastUsedBatch(Map<Long, LocalDateTime> lastUsed) {
+        refreshTokenMapper.updateLastUsedBatch(lastUsed);
+    }
+
+    public int deleteExpiredBatch(LocalDateTime currentTime, int batchSize) {
+        return refreshTokenMapper.deleteExpiredBatch(currentTime, batchSize);
+    }
+
     public void deleteExpired(LocalDateTime currentTime) {
         refreshTokenMapper.deleteExpired(currentTime);
     }
@@ -44,6 +44,22 @@ public List<RevokedToken> findByUserId(Long userId) {
         return revokedTokenMapper.findByUserId(userId);
     }
 
+    public List<RevokedToken> findUnexpired(LocalDateTime currentTime) {
+        return revokedTokenMapper.findUnexpired(currentTime);
+    }
+
+    public List<RevokedToken> findRevokedSince(LocalDateTime since, LocalDateTime currentTime) {
+        return revokedTokenMapper.findRevokedSince(since, currentTime);
+    }
+
+    public LocalDateTime currentUtcTime() {
+        return revokedTokenMapper.currentUtcTime();
+    }
+
+    public int deleteExpiredBatch(LocalDateTime currentTime, int batchSize) {
+        return revokedTokenMapper.deleteExpiredBatch(currentTime, batchSize);
+    }
+
     public void deleteExpired(LocalDateTime currentTime) {
         revokedTokenMapper.deleteExpired(currentTime);
     }
@@ -1,41 +1,157 @@
 package x.y.z.backend.handler;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import x.y.z.backend.domain.model.University;
 import x.y.z.backend.repository.mapper.UniversityMapper;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * UniversityHandler - Data access component for University entities.
  * Wraps MyBatis mapper calls.
+ *
+ * RAP.university is small, static reference data, so every read is answered from an
+ * immutable in-memory snapshot (all rows, active rows, and lookup maps by id, code
+ * and name):
+ * - Loaded at startup (or on first use if the startup load failed)
+ * - Reloaded periodically; the new copy is swapped in atomically, and only when a
+ *   row actually changed, so {@link #snapshot()} identity doubles as a data version
+ * - A failed reload keeps serving the previous snapshot
+ * Cached University objects are shared - callers must not modify them.
  */
 @Component
 public class UniversityHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(UniversityHandler.class);
+
     private final UniversityMapper universityMapper;
 
+    private volatile Snapshot snapshot;
+
     public UniversityHandler(UniversityMapper universityMapper) {
         this.universityMapper = universityMapper;
     }
 
+    /**
+     * Load the snapshot once the application (and Flyway) is fully started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        refresh();
+    }
+
+    /**
+     * Periodic reload - picks up reference data changes and retries a failed load.
+     */
+    @Scheduled(fixedDelayString = "${university.refresh-interval-ms:300000}",
+               initialDelayString = "${university.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("Failed to reload university snapshot, keeping the previous copy: {}", e.getMessage());
+        }
+    }
+
     public List<University> findAll() {
-        return universityMapper.findAll();
+        return snapshot().all;
     }
 
     public List<University> findByStatus(String status) {
-        return universityMapper.findByStatus(status);
+        if ("ACTIVE".equals(status)) {
+            return snapshot().active;
+        }
+        return snapshot().all.stream()
+                .filter(university -> Objects.equals(university.getStatus(), status))
+                .toList();
     }
 
     public University findById(Long id) {
-        return universityMapper.findById(id);
+        return id == null ? null : snapshot().byId.get(id);
     }
 
     public University findByCode(String universityCode) {
-        return universityMapper.findByCode(universityCode);
+        return universityCode == null ? null : snapshot().byCode.get(universityCode);
+    }
+
+    public University findByName(String universityName) {
+        return universityName == null ? null : snapshot().byName.get(universityName);
     }
 
     public long count() {
-        return universityMapper.count();
+        return snapshot().all.size();
+    }
+
+    /**
+     * @return the current snapshot; a new instance means the university data changed
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private synchronized Snapshot reload() {
+        List<University> rows = universityMapper.findAll();
+        Snapshot current = snapshot;
+        if (current != null && sameRows(current.all, rows)) {
+            return current;
+        }
+        snapshot = new Snapshot(rows);
+        logger.info("University snapshot loaded with {} row(s)", rows.size());
+        return snapshot;
+    }
+
+    private static boolean sameRows(List<University> a, List<University> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            University x = a.get(i);
+            University y = b.get(i);
+            if (!Objects.equals(x.getId(), y.getId())
+                    || !Objects.equals(x.getUniversityName(), y.getUniversityName())
+                    || !Objects.equals(x.getUniversityCode(), y.getUniversityCode())
+                    || !Objects.equals(x.getStatus(), y.getStatus())
+                    || !Objects.equals(x.getUpdatedAt(), y.getUpdatedAt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Immutable copy of RAP.university, ordered by name.
+     */
+    public static final class Snapshot {
+
+        private final List<University> all;
+        private final List<University> active;
+        private final Map<Long, University> byId;
+        private final Map<String, University> byCode;
+        private final Map<String, University> byName;
+
+        private Snapshot(List<University> rows) {
+            Map<Long, University> ids = new HashMap<>();
+            Map<String, University> codes = new HashMap<>();
+            Map<String, University> names = new HashMap<>();
+            for (University university : rows) {
+                ids.put(university.getId(), university);
+                codes.put(university.getUniversityCode(), university);
+                names.put(university.getUniversityName(), university);
+            }
+            this.all = List.copyOf(rows);
+            this.active = rows.stream().filter(university -> "ACTIVE".equals(university.getStatus())).toList();
+            this.byId = Map.copyOf(ids);
+            this.byCode = Map.copyOf(codes);
+            this.byName = Map.copyOf(names);
+        }
     }
 }
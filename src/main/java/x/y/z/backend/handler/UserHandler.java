@@ -1,19 +1,45 @@
 package x.y.z.backend.handler;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import x.y.z.backend.domain.model.Role;
 import x.y.z.backend.domain.model.User;
+import x.y.z.backend.domain.model.UserIdentity;
 import x.y.z.backend.domain.model.UserRole;
 import x.y.z.backend.repository.mapper.RoleMapper;
 import x.y.z.backend.repository.mapper.UserMapper;
 import x.y.z.backend.repository.mapper.UserRoleMapper;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * UserHandler - Handles user-related data access operations.
  * Pure data access - business logic should be in the Service layer.
+ *
+ * Role reads are cached:
+ * - Role catalog: immutable snapshot of RAP.ROLE_REF keyed by name, reloaded on a miss
+ * - Per-user role sets: bounded Caffeine cache with TTL, holding catalog instances
+ *   (exported to actuator as cache.* metrics with cache="user.roles")
+ * findIdentityById (login and token refresh) takes its roles from the per-user cache,
+ * so a cached user costs one primary-key lookup of USER_INFO; on a miss it loads the
+ * account and roles in one query and seeds the cache from it.
+ * assignRole / removeRole / clearUserRoles invalidate the user's entry immediately
+ * and again after the surrounding transaction commits. That eviction is node-local:
+ * other replicas drop the entry when RevocationSynchronizer merges the user's token
+ * epoch (every role change bumps it) and otherwise keep serving the old role set for
+ * up to user.role-cache.ttl-seconds.
+ * Cached Role objects are shared - callers must not modify them.
  */
 @Component
 public class UserHandler {
@@ -22,10 +48,28 @@ public class UserHandler {
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
 
-    public UserHandler(UserMapper userMapper, RoleMapper roleMapper, UserRoleMapper userRoleMapper) {
+    /** userId -> roles (immutable list of catalog instances) */
+    private final Cache<Long, List<Role>> userRoleCache;
+
+    /** role_name -> Role (immutable snapshot of ROLE_REF) */
+    private volatile Map<String, Role> roleCatalog;
+
+    public UserHandler(
+            UserMapper userMapper,
+            RoleMapper roleMapper,
+            UserRoleMapper userRoleMapper,
+            MeterRegistry meterRegistry,
+            @Value("${user.role-cache.max-size:10000}") long maxSize,
+            @Value("${user.role-cache.ttl-seconds:300}") long ttlSeconds) {
         this.userMapper = userMapper;
         this.roleMapper = roleMapper;
         this.userRoleMapper = userRoleMapper;
+        this.userRoleCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userRoleCache, "user.roles");
     }
 
     public User insert(User user) {
@@ -56,6 +100,27 @@ public User findByEmail(String email) {
         return userMapper.findByEmail(email);
     }
 
+    public UserIdentity findIdentityById(Long id) {
+        List<Role> roles = userRoleCache.getIfPresent(id);
+        if (roles == null) {
+            // Miss: account and roles in one round trip, then seed the role cache from it
+            UserIdentity identity = userMapper.findIdentityById(id);
+            if (identity != null) {
+                cacheRoles(id, identity.getRoles());
+            }
+            return identity;
+        }
+        UserIdentity identity = userMapper.findAccountById(id);
+        if (identity != null) {
+            identity.setRoles(roles.stream().map(Role::getRoleName).toList());
+        }
+        return identity;
+    }
+
+    public UserIdentity findIdentityByEmail(String email) {
+        return userMapper.findIdentityByEmail(email);
+    }
+
     public List<User> findAll() {
         return userMapper.findAll();
     }
@@ -68,6 +133,10 @@ public void updateLastLogin(Long userId, LocalDateTime lastLoginAt) {
         userMapper.updateLastLogin(userId, lastLoginAt);
     }
 
+    public void updateLastLoginBatch(Map<Long, LocalDateTime> lastLogins) {
+        userMapper.updateLastLoginBatch(lastLogins);
+    }
+
     public void deactivate(Long userId) {
         userMapper.deactivate(userId);
     }
@@ -82,16 +151,25 @@ public void deleteById(Long userId) {
 
     // Role-related operations
     public Role findRoleByName(String roleName) {
-        return roleMapper.findByName(roleName);
+        if (roleName == null) {
+            return null;
+        }
+        Role role = roleCatalog().get(roleName);
+        if (role == null) {
+            // Unknown name - the catalog may predate a newly seeded role
+            role = reloadRoleCatalog().get(roleName);
+        }
+        return role;
     }
 
     public List<Role> findRolesByUserId(Long userId) {
-        return roleMapper.findByUserId(userId);
+        return userRoleCache.get(userId, this::loadRolesByUserId);
     }
 
     public void assignRole(Long userId, Long roleId, String grantedBy) {
         UserRole userRole = new UserRole(userId, roleId, grantedBy);
         userRoleMapper.insert(userRole);
+        invalidateRoles(userId);
     }
 
     public boolean hasRole(Long userId, Long roleId) {
@@ -100,10 +178,19 @@ public boolean hasRole(Long userId, Long roleId) {
 
     public void removeRole(Long userId, Long roleId) {
         userRoleMapper.delete(userId, roleId);
+        invalidateRoles(userId);
     }
 
     public void clearUserRoles(Long userId) {
         userRoleMapper.deleteByUserId(userId);
+        invalidateRoles(userId);
+    }
+
+    /**
+     * Drop the user's cached role set after a change made on another replica.
+     */
+    public void evictRoles(Long userId) {
+        userRoleCache.invalidate(userId);
     }
 
     public boolean existsByOidcSubject(String oidcSubject) {
@@ -113,4 +200,58 @@ public boolean existsByOidcSubject(String oidcSubject) {
     public boolean existsByEmail(String email) {
         return userMapper.findByEmail(email) != null;
     }
+
+    private List<Role> loadRolesByUserId(Long userId) {
+        Map<String, Role> catalog = roleCatalog();
+        return roleMapper.findByUserId(userId).stream()
+                .map(role -> catalog.getOrDefault(role.getRoleName(), role))
+                .toList();
+    }
+
+    /**
+     * Seed the user's role set from role names loaded with the identity. Skipped when a
+     * name is not in ROLE_REF (even after a reload) - the next lookup loads the set itself.
+     */
+    private void cacheRoles(Long userId, List<String> roleNames) {
+        List<Role> roles = new ArrayList<>(roleNames.size());
+        for (String roleName : roleNames) {
+            Role role = findRoleByName(roleName);
+            if (role == null) {
+                return;
+            }
+            roles.add(role);
+        }
+        userRoleCache.put(userId, List.copyOf(roles));
+    }
+
+    private Map<String, Role> roleCatalog() {
+        Map<String, Role> catalog = roleCatalog;
+        return catalog != null ? catalog : reloadRoleCatalog();
+    }
+
+    private synchronized Map<String, Role> reloadRoleCatalog() {
+        Map<String, Role> catalog = new HashMap<>();
+        for (Role role : roleMapper.findAll()) {
+            role.setRoleName(role.getRoleName().intern());
+            catalog.put(role.getRoleName(), role);
+        }
+        roleCatalog = Map.copyOf(catalog);
+        return roleCatalog;
+    }
+
+    /**
+     * Drop the user's cached role set now, and again after commit so a concurrent
+     * reader cannot re-cache the pre-commit state.
+     */
+    private void invalidateRoles(Long userId) {
+        userRoleCache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userRoleCache.invalidate(userId);
+                }
+            });
+        }
+    }
 }
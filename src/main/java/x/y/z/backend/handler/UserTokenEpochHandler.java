@@ -0,0 +1,41 @@
+package x.y.z.backend.handler;
+
+import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.model.UserTokenEpoch;
+import x.y.z.backend.repository.mapper.UserTokenEpochMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * UserTokenEpochHandler - Handles per-user token epoch data access operations.
+ * Pure data access - business logic should be in the Service layer.
+ */
+@Component
+public class UserTokenEpochHandler {
+
+    private final UserTokenEpochMapper userTokenEpochMapper;
+
+    public UserTokenEpochHandler(UserTokenEpochMapper userTokenEpochMapper) {
+        this.userTokenEpochMapper = userTokenEpochMapper;
+    }
+
+    public void upsert(UserTokenEpoch userTokenEpoch) {
+        int rowsAffected = userTokenEpochMapper.upsert(userTokenEpoch);
+        if (rowsAffected == 0) {
+            throw new RuntimeException("Failed to update token epoch for user " + userTokenEpoch.getUserId());
+        }
+    }
+
+    public Long findNotBefore(Long userId) {
+        return userTokenEpochMapper.findNotBefore(userId);
+    }
+
+    public List<UserTokenEpoch> findActive(Long minNotBefore) {
+        return userTokenEpochMapper.findActive(minNotBefore);
+    }
+
+    public List<UserTokenEpoch> findUpdatedSince(LocalDateTime since) {
+        return userTokenEpochMapper.findUpdatedSince(since);
+    }
+}
@@ -0,0 +1,32 @@
+package x.y.z.backend.repository.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MyBatis Mapper interface for SQL Server application locks (sp_getapplock).
+ * Queries are defined in AppLockMapper.xml
+ *
+ * Locks are session-owned: they must be acquired and released on the same
+ * connection (see AppLockHandler).
+ */
+@Mapper
+@AuthMapper
+@Repository
+public interface AppLockMapper {
+
+    /**
+     * Try to take an exclusive session lock without waiting
+     *
+     * @return sp_getapplock result (&gt;= 0 granted, &lt; 0 not granted)
+     */
+    int tryAcquire(@Param("resource") String resource);
+
+    /**
+     * Release a session lock
+     *
+     * @return sp_releaseapplock result (0 released)
+     */
+    int release(@Param("resource") String resource);
+}
@@ -2,9 +2,13 @@
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
+import x.y.z.backend.domain.dto.PageRow;
+import x.y.z.backend.domain.dto.SequenceBlock;
 import x.y.z.backend.domain.model.Application;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,13 +21,16 @@ public interface ApplicationMapper {
 
     /**
      * Insert a new application record
+     * @return the stored row, including generated id and column defaults
      */
-    int insert(Application application);
+    Application insert(Application application);
 
     /**
      * Update an existing application record
+     * @return the updated row, or null if no application with this id with the same application code
+     *         (and, when expectedRowVersions is set, one of those row versions) exists
      */
-    int update(Application application);
+    Application update(Application application);
 
     /**
      * Delete an application by ID
@@ -52,14 +59,40 @@ public interface ApplicationMapper {
 
     /**
      * Search applications by name pattern (case-insensitive)
+     * @param namePattern Text the name must contain
+     * @param limit The maximum number of records to return
      */
-    List<Application> searchByName(@Param("namePattern") String namePattern);
+    List<Application> searchByName(@Param("namePattern") String namePattern, @Param("limit") int limit);
 
     /**
      * Count total applications
      */
     long count();
 
+    /**
+     * Search applications whose name starts with a prefix
+     * @param prefix The name prefix
+     * @param limit The maximum number of records to return
+     */
+    List<Application> searchByNamePrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    /**
+     * Find id, name and code of every application (search index seed)
+     */
+    List<Application> findSearchKeys();
+
+    /**
+     * Find applications by IDs, in no particular order
+     * @param ids Non-empty list of application IDs
+     */
+    List<Application> findByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Reserve the next block of numbers from RAP.application_code_seq
+     * @param blockSize How many consecutive numbers to reserve
+     */
+    SequenceBlock nextCodeBlock(@Param("blockSize") int blockSize);
+
     /**
      * Check if application code exists
      */
@@ -70,11 +103,13 @@ public interface ApplicationMapper {
      * @param userEmail The user's email address
      * @param offset The starting record index
      * @param limit The maximum number of records to return
+     * @param includeTotal Also return the total match count on each row (COUNT(*) OVER())
      */
-    List<Application> findByUserPaginated(
+    List<PageRow<Application>> findByUserPaginated(
         @Param("userEmail") String userEmail,
         @Param("offset") int offset,
-        @Param("limit") int limit
+        @Param("limit") int limit,
+        @Param("includeTotal") boolean includeTotal
     );
 
     /**
@@ -83,10 +118,43 @@ List<Application> findByUserPaginated(
      */
     long countByUser(@Param("userEmail") String userEmail);
 
-    List<Application> findByUniversityPaginated(
+    List<PageRow<Application>> findByUniversityPaginated(
         @Param("universityId") Long universityId,
         @Param("offset") int offset,
-        @Param("limit") int limit
+        @Param("limit") int limit,
+        @Param("includeTotal") boolean includeTotal
     );
     long countByUniversity(@Param("universityId") Long universityId);
+
+    /**
+     * Find applications by user email after a keyset cursor, newest first.
+     * @param cursorCreatedAt created_at of the last row already returned (null for the first page)
+     * @param cursorId id of the last row already returned (null for the first page)
+     */
+    List<Application> findByUserAfter(
+        @Param("userEmail") String userEmail,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Find applications by university after a keyset cursor, newest first.
+     */
+    List<Application> findByUniversityAfter(
+        @Param("universityId") Long universityId,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Stream applications for export. Must be consumed inside a transaction.
+     * @param status Optional status filter (null for all)
+     * @param namePattern Optional name substring filter (null for all)
+     */
+    Cursor<Application> streamApplications(
+        @Param("status") String status,
+        @Param("namePattern") String namePattern
+    );
 }
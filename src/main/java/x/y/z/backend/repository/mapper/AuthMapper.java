@@ -0,0 +1,21 @@
+package x.y.z.backend.repository.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a mapper of the authentication tables (users, roles, tokens, token epochs,
+ * application locks).
+ *
+ * Auth mappers are bound to the separate auth connection pool, SqlSessionFactory and
+ * transaction manager (authTransactionManager), so logins and token checks never wait
+ * behind business queries; their XML lives in mapper/auth. See MyBatisConfig.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AuthMapper {
+}
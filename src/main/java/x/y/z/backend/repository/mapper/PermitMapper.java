@@ -2,9 +2,12 @@
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
+import x.y.z.backend.domain.dto.PageRow;
 import x.y.z.backend.domain.model.Permit;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -17,13 +20,15 @@ public interface PermitMapper {
 
     /**
      * Insert a new permit record
+     * @return the stored row, including generated id and column defaults
      */
-    int insert(Permit permit);
+    Permit insert(Permit permit);
 
     /**
      * Update an existing permit record
+     * @return the updated row, or null if no permit with this id with the same permit number exists
      */
-    int update(Permit permit);
+    Permit update(Permit permit);
 
     /**
      * Delete a permit by ID
@@ -50,18 +55,20 @@ public interface PermitMapper {
      * @param holderId The permit holder's user ID
      * @param offset The starting record index
      * @param limit The maximum number of records to return
+     * @param includeTotal Also return the total match count on each row (COUNT(*) OVER())
      */
-    List<Permit> findByUserPaginated(
-        @Param("holderId") String holderId,
+    List<PageRow<Permit>> findByUserPaginated(
+        @Param("holderId") Long holderId,
         @Param("offset") int offset,
-        @Param("limit") int limit
+        @Param("limit") int limit,
+        @Param("includeTotal") boolean includeTotal
     );
 
     /**
      * Count total permits for a specific holder
      * @param holderId The permit holder's user ID
      */
-    long countByUser(@Param("holderId") String holderId);
+    long countByUser(@Param("holderId") Long holderId);
 
     /**
      * Find permits by status
@@ -83,10 +90,38 @@ List<Permit> findByUserPaginated(
      */
     boolean existsByPermitNumber(@Param("permitNumber") String permitNumber);
 
-    List<Permit> findByUniversityPaginated(
+    List<PageRow<Permit>> findByUniversityPaginated(
         @Param("universityId") Long universityId,
         @Param("offset") int offset,
-        @Param("limit") int limit
+        @Param("limit") int limit,
+        @Param("includeTotal") boolean includeTotal
     );
     long countByUniversity(@Param("universityId") Long universityId);
+
+    /**
+     * Find permits by holder ID after a keyset cursor, latest issue date first.
+     * @param cursorIssueDate issue_date of the last row already returned (null for the first page)
+     * @param cursorId id of the last row already returned (null for the first page)
+     */
+    List<Permit> findByUserAfter(
+        @Param("holderId") Long holderId,
+        @Param("cursorIssueDate") LocalDate cursorIssueDate,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Find permits by university after a keyset cursor, latest issue date first.
+     */
+    List<Permit> findByUniversityAfter(
+        @Param("universityId") Long universityId,
+        @Param("cursorIssueDate") LocalDate cursorIssueDate,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Stream all permits for export. Must be consumed inside a transaction.
+     */
+    Cursor<Permit> streamAll();
 }
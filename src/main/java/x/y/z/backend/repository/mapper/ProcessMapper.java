@@ -2,9 +2,12 @@
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
+import x.y.z.backend.domain.dto.PageRow;
 import x.y.z.backend.domain.model.Task;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,13 +20,15 @@ public interface ProcessMapper {
 
     /**
      * Insert a new task record
+     * @return the stored row, including generated id and column defaults
      */
-    int insert(Task task);
+    Task insert(Task task);
 
     /**
      * Update an existing task record
+     * @return the updated row, or null if no task with this id exists
      */
-    int update(Task task);
+    Task update(Task task);
 
     /**
      * Delete a task by ID
@@ -42,21 +47,37 @@ public interface ProcessMapper {
 
     /**
      * Find tasks assigned to a specific user with pagination
-     * @param assignedTo The user email address
+     * @param assignedTo The assignee's user ID
      * @param offset The starting record index
      * @param limit The maximum number of records to return
+     * @param includeTotal Also return the total match count on each row (COUNT(*) OVER())
      */
-    List<Task> findByUserPaginated(
-        @Param("assignedTo") String assignedTo,
+    List<PageRow<Task>> findByUserPaginated(
+        @Param("assignedTo") Long assignedTo,
         @Param("offset") int offset,
-        @Param("limit") int limit
+        @Param("limit") int limit,
+        @Param("includeTotal") boolean includeTotal
     );
 
     /**
      * Count total tasks assigned to a specific user
-     * @param assignedTo The user email address
+     * @param assignedTo The assignee's user ID
      */
-    long countByUser(@Param("assignedTo") String assignedTo);
+    long countByUser(@Param("assignedTo") Long assignedTo);
+
+    /**
+     * Find tasks assigned to a user after a keyset cursor, in findByUserPaginated order.
+     * @param cursorDueDate due_date of the last row already returned (may be null)
+     * @param cursorCreatedAt created_at of the last row already returned
+     * @param cursorId id of the last row already returned (null for the first page)
+     */
+    List<Task> findByUserAfter(
+        @Param("assignedTo") Long assignedTo,
+        @Param("cursorDueDate") LocalDateTime cursorDueDate,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        @Param("limit") int limit
+    );
 
     /**
      * Find tasks by status
@@ -72,4 +93,9 @@ List<Task> findByUserPaginated(
      * Count total tasks
      */
     long count();
+
+    /**
+     * Stream all tasks for export. Must be consumed inside a transaction.
+     */
+    Cursor<Task> streamAll();
 }
@@ -7,12 +7,14 @@
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * MyBatis Mapper interface for RefreshToken entity.
  * Queries are defined in RefreshTokenMapper.xml
  */
 @Mapper
+@AuthMapper
 @Repository
 public interface RefreshTokenMapper {
 
@@ -51,6 +53,16 @@ public interface RefreshTokenMapper {
      */
     int revokeAllByUserId(@Param("userId") Long userId, @Param("revokedAt") LocalDateTime revokedAt);
 
+    /**
+     * Update last used timestamps for many refresh tokens in one statement (only moves forward)
+     */
+    int updateLastUsedBatch(@Param("lastUsed") Map<Long, LocalDateTime> lastUsed);
+
+    /**
+     * Delete at most batchSize expired tokens (chunked purge)
+     */
+    int deleteExpiredBatch(@Param("currentTime") LocalDateTime currentTime, @Param("batchSize") int batchSize);
+
     /**
      * Delete expired tokens (cleanup job)
      */
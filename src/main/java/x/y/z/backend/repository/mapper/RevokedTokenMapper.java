@@ -13,6 +13,7 @@
  * Queries are defined in RevokedTokenMapper.xml
  */
 @Mapper
+@AuthMapper
 @Repository
 public interface RevokedTokenMapper {
 
@@ -41,6 +42,27 @@ public interface RevokedTokenMapper {
      */
     List<RevokedToken> findByUserId(@Param("userId") Long userId);
 
+    /**
+     * Get all revoked tokens that have not yet expired (seeds the in-memory revocation index)
+     */
+    List<RevokedToken> findUnexpired(@Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Get unexpired tokens revoked after the given watermark (cluster revocation sync)
+     */
+    List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since,
+                                        @Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Current database time in UTC (same clock as revoked_at)
+     */
+    LocalDateTime currentUtcTime();
+
+    /**
+     * Delete at most batchSize expired tokens (chunked purge)
+     */
+    int deleteExpiredBatch(@Param("currentTime") LocalDateTime currentTime, @Param("batchSize") int batchSize);
+
     /**
      * Delete expired revoked tokens (cleanup job)
      */
@@ -12,6 +12,7 @@
  * Queries are defined in RoleMapper.xml
  */
 @Mapper
+@AuthMapper
 @Repository
 public interface RoleMapper {
 
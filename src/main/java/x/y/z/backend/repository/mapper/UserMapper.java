@@ -4,15 +4,18 @@
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 import x.y.z.backend.domain.model.User;
+import x.y.z.backend.domain.model.UserIdentity;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * MyBatis Mapper interface for User entity.
  * Queries are defined in UserMapper.xml
  */
 @Mapper
+@AuthMapper
 @Repository
 public interface UserMapper {
 
@@ -41,6 +44,21 @@ public interface UserMapper {
      */
     User findByEmail(@Param("email") String email);
 
+    /**
+     * Find identity projection without roles (email, is_active) by user ID
+     */
+    UserIdentity findAccountById(@Param("id") Long id);
+
+    /**
+     * Find identity projection (email, is_active, aggregated role names) by user ID
+     */
+    UserIdentity findIdentityById(@Param("id") Long id);
+
+    /**
+     * Find identity projection (email, is_active, aggregated role names) by email
+     */
+    UserIdentity findIdentityByEmail(@Param("email") String email);
+
     /**
      * Get all users
      */
@@ -56,6 +74,11 @@ public interface UserMapper {
      */
     int updateLastLogin(@Param("id") Long id, @Param("lastLoginAt") LocalDateTime lastLoginAt);
 
+    /**
+     * Update last login timestamps for many users in one statement (only moves forward)
+     */
+    int updateLastLoginBatch(@Param("lastLogins") Map<Long, LocalDateTime> lastLogins);
+
     /**
      * Deactivate a user (soft delete)
      */
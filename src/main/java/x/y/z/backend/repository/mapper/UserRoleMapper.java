@@ -12,6 +12,7 @@
  * Queries are defined in UserRoleMapper.xml
  */
 @Mapper
+@AuthMapper
 @Repository
 public interface UserRoleMapper {
 
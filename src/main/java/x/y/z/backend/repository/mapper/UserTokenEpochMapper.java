@@ -0,0 +1,39 @@
+package x.y.z.backend.repository.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+import x.y.z.backend.domain.model.UserTokenEpoch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MyBatis Mapper interface for UserTokenEpoch entity.
+ * Queries are defined in UserTokenEpochMapper.xml
+ */
+@Mapper
+@AuthMapper
+@Repository
+public interface UserTokenEpochMapper {
+
+    /**
+     * Insert or move forward a user's token epoch (never moves it backwards)
+     */
+    int upsert(UserTokenEpoch userTokenEpoch);
+
+    /**
+     * Find a user's token epoch (null if never bumped)
+     */
+    Long findNotBefore(@Param("userId") Long userId);
+
+    /**
+     * Get epochs that can still reject live tokens (seeds the in-memory revocation index)
+     */
+    List<UserTokenEpoch> findActive(@Param("minNotBefore") Long minNotBefore);
+
+    /**
+     * Get epochs bumped after the given watermark (cluster revocation sync)
+     */
+    List<UserTokenEpoch> findUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -12,13 +12,12 @@
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Component;
 
-import x.y.z.backend.domain.model.Role;
-import x.y.z.backend.domain.model.User;
+import x.y.z.backend.domain.model.UserIdentity;
 import x.y.z.backend.handler.UserHandler;
+import x.y.z.backend.service.ActivityTimestampBuffer;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -47,9 +46,11 @@ public class AzureAdOidcUserService extends OidcUserService {
     private static final String ALLOWED_EMAIL_DOMAIN = "@nexgeninc.com";
 
     private final UserHandler userHandler;
+    private final ActivityTimestampBuffer activityTimestampBuffer;
 
-    public AzureAdOidcUserService(UserHandler userHandler) {
+    public AzureAdOidcUserService(UserHandler userHandler, ActivityTimestampBuffer activityTimestampBuffer) {
         this.userHandler = userHandler;
+        this.activityTimestampBuffer = activityTimestampBuffer;
     }
 
     @Override
@@ -71,8 +72,9 @@ public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2Authenticatio
                             "Only @nexgeninc.com email addresses are authorized for internal login", null));
         }
 
-        // 3. Verify user exists in database (no auto-provisioning)
-        User user = userHandler.findByEmail(email);
+        // 3. Verify user exists in database (no auto-provisioning) - one query for
+        //    is_active and roles
+        UserIdentity user = userHandler.findIdentityByEmail(email);
         if (user == null) {
             logger.warn("Azure AD login rejected: user '{}' not found in database", email);
             throw new OAuth2AuthenticationException(
@@ -88,10 +90,9 @@ public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2Authenticatio
         }
 
         // 4. Load roles from database (NOT from token claims)
-        List<Role> dbRoles = userHandler.findRolesByUserId(user.getId());
         Set<GrantedAuthority> authorities = new HashSet<>();
-        for (Role role : dbRoles) {
-            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getRoleName().toUpperCase()));
+        for (String roleName : user.getRoles()) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + roleName.toUpperCase()));
         }
         if (authorities.isEmpty()) {
             authorities.add(new SimpleGrantedAuthority("ROLE_INTERNAL_USER"));
@@ -99,8 +100,8 @@ public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2Authenticatio
         }
         logger.info("Loaded {} role(s) from DB for user {}: {}", authorities.size(), email, authorities);
 
-        // 5. Update last login timestamp
-        userHandler.updateLastLogin(user.getId(), LocalDateTime.now());
+        // 5. Update last login timestamp (write-behind, flushed in batches)
+        activityTimestampBuffer.recordLogin(user.getId(), LocalDateTime.now());
 
         // 6. Return OidcUser with DB-sourced authorities
         String nameAttributeKey = determineNameAttributeKey(claims);
@@ -26,19 +26,18 @@
  * 
  * Flow:
  * 1. Extract JWT from httpOnly cookie (access_token)
- * 2. Validate token signature and expiration
+ * 2. Validate token signature and expiration (parsed once into a VerifiedToken)
  * 3. Check if token is revoked (blacklist)
- * 4. Extract user info and roles from token
+ * 4. Extract user info and roles from the verified claims
  * 5. Set Spring Security authentication context
+ * 6. Expose the VerifiedToken as a request attribute for downstream reuse
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenUtil jwtTokenUtil;
     private final JwtTokenService jwtTokenService;
 
-    public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, JwtTokenService jwtTokenService) {
-        this.jwtTokenUtil = jwtTokenUtil;
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService) {
         this.jwtTokenService = jwtTokenService;
     }
 
@@ -52,11 +51,13 @@ protected void doFilterInternal(
             // Extract JWT from httpOnly cookie
             String jwt = extractJwtFromCookie(request);
 
-            if (jwt != null && jwtTokenService.validateAccessToken(jwt)) {
-                // Extract user info from token
-                Long userId = jwtTokenUtil.getUserIdFromToken(jwt);
-                String email = jwtTokenUtil.getEmailFromToken(jwt);
-                List<String> roles = jwtTokenUtil.getRolesFromToken(jwt);
+            VerifiedToken token = jwt != null ? jwtTokenService.verifyAccessToken(jwt) : null;
+
+            if (token != null) {
+                // Extract user info from the already-verified claims
+                Long userId = token.getUserId();
+                String email = token.getEmail();
+                List<String> roles = token.getRoles();
 
                 // Convert roles to Spring Security authorities
                 List<GrantedAuthority> authorities = roles.stream()
@@ -75,6 +76,9 @@ protected void doFilterInternal(
 
                 // Set authentication in Spring Security context
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                // Let AuthController and others reuse the verification result
+                request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
             }
 
         } catch (JwtException e) {
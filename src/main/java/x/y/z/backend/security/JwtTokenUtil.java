@@ -1,6 +1,7 @@
 package x.y.z.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -26,6 +27,7 @@
 public class JwtTokenUtil {
 
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final long accessTokenExpirationMinutes;
     private final long refreshTokenExpirationDays;
     private final String issuer;
@@ -37,6 +39,10 @@ public JwtTokenUtil(
             @Value("${jwt.issuer:raptor-app}") String issuer) {
         
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Parsers are immutable and thread-safe - build once instead of per call
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
         this.accessTokenExpirationMinutes = accessTokenExpirationMinutes;
         this.refreshTokenExpirationDays = refreshTokenExpirationDays;
         this.issuer = issuer;
@@ -92,11 +98,19 @@ public Instant getRefreshTokenExpiration() {
      * @throws io.jsonwebtoken.JwtException if invalid or expired
      */
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verify token signature and expiration once and return a typed view of its claims.
+     * Prefer this over the individual getXxxFromToken methods, each of which re-verifies.
+     * 
+     * @param token JWT token string
+     * @return VerifiedToken with userId, email, roles, jti, iat and exp
+     * @throws io.jsonwebtoken.JwtException if invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        return new VerifiedToken(token, validateToken(token));
     }
 
     /**
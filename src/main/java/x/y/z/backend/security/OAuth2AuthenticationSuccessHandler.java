@@ -116,11 +116,18 @@ public void onAuthenticationSuccess(
                 logger.info("External user created/updated: {} (ID: {})", user.getEmail(), user.getId());
             }
 
-            // Generate JWT tokens
-            JwtTokenService.TokenPair tokens = jwtTokenService.generateTokens(user.getId());
+            // Generate JWT tokens (rejects deactivated users)
+            JwtTokenService.TokenPair tokens;
+            try {
+                tokens = jwtTokenService.generateTokens(user.getId());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Token issuance rejected for user ID {}: {}", user.getId(), e.getMessage());
+                response.sendRedirect(frontendUrl + "/login?error=user_deactivated");
+                return;
+            }
             logger.info("JWT tokens generated for user ID: {}. JWT roles from DB: {}", 
                 user.getId(), 
-                jwtTokenUtil.getRolesFromToken(tokens.getAccessToken()));
+                tokens.getRoles());
 
             // Set access token cookie (15 minutes)
             Cookie accessTokenCookie = createCookie(
@@ -189,7 +196,9 @@ private void clearExistingTokens(HttpServletRequest request, HttpServletResponse
 
         if (existingAccessToken != null) {
             try {
-                jwtTokenService.revokeAccessToken(existingAccessToken, "NEW_LOGIN");
+                // Verify once; expired or tampered tokens need no revocation entry
+                VerifiedToken existingToken = jwtTokenUtil.verify(existingAccessToken);
+                jwtTokenService.revokeAccessToken(existingToken, "NEW_LOGIN");
                 logger.debug("Revoked existing access token before new login");
             } catch (Exception e) {
                 logger.warn("Failed to revoke existing access token: {}", e.getMessage());
@@ -1,5 +1,6 @@
 package x.y.z.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -74,10 +75,15 @@ public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Excepti
             
             // Authorization rules
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatch of a request that was already authorized (e.g. a
+                // StreamingResponseBody export completing); the JWT filter does not
+                // run on it, so it must not be re-checked as anonymous.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints (no authentication required)
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/api/config/**").permitAll()  // Configuration endpoint for frontend
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 
                 // Auth endpoints - these handle their own authentication internally
@@ -96,6 +102,10 @@ public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Excepti
                 .requestMatchers("/oauth2/authorization/**").permitAll()
                 .requestMatchers("/login/oauth2/code/**").permitAll()
                 
+                // Actuator endpoints other than health (info, flyway, metrics - statement
+                // names, latencies, pool and revocation meters) are for internal users only
+                .requestMatchers("/actuator/**").hasRole("INTERNAL_USER")
+                
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
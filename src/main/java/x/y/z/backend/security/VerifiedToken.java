@@ -0,0 +1,88 @@
+package x.y.z.backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * VerifiedToken - Typed view of an access token whose signature and expiration
+ * have already been verified by {@link JwtTokenUtil#verify(String)}.
+ *
+ * The token is parsed exactly once per request; the filter stores the result as a
+ * request attribute so downstream code (AuthController, success handler) never has
+ * to re-run the HMAC verification for the same JWT.
+ */
+public final class VerifiedToken {
+
+    /** Request attribute under which JwtAuthenticationFilter stores the verified token */
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    private final String token;
+    private final Long userId;
+    private final String email;
+    private final List<String> roles;
+    private final String jti;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    VerifiedToken(String token, Claims claims) {
+        this.token = token;
+        this.userId = Long.parseLong(claims.getSubject());
+        this.email = claims.get("email", String.class);
+        this.roles = extractRoles(claims.get("roles"));
+        this.jti = claims.getId();
+        this.issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        this.expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+    }
+
+    private static List<String> extractRoles(Object rawRoles) {
+        if (rawRoles instanceof List<?> list) {
+            return list.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+        return Collections.emptyList();
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken{" +
+                "userId=" + userId +
+                ", email='" + email + '\'' +
+                ", roles=" + roles +
+                ", jti='" + jti + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,132 @@
+package x.y.z.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import x.y.z.backend.handler.RefreshTokenHandler;
+import x.y.z.backend.handler.UserHandler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * ActivityTimestampBuffer - Write-behind buffer for bookkeeping timestamps.
+ *
+ * Login and token refresh only record the timestamp in memory; repeated updates for
+ * the same user / refresh token coalesce to the latest value. A scheduled flush writes
+ * each buffer with one set-based UPDATE per chunk, and a final flush runs on shutdown.
+ *
+ * Buffered columns:
+ * - RAP.USER_INFO.last_login_at
+ * - RAP.refresh_tokens.last_used_at
+ *
+ * The statements only move timestamps forward, so flushes from several replicas can
+ * interleave safely. Entries are kept if a flush fails and retried on the next run.
+ */
+@Component
+public class ActivityTimestampBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityTimestampBuffer.class);
+
+    /** Rows per statement - two parameters each, well below SQL Server's 2100 limit */
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final UserHandler userHandler;
+    private final RefreshTokenHandler refreshTokenHandler;
+
+    /** userId -> last_login_at */
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+
+    /** refresh token id -> last_used_at */
+    private final ConcurrentHashMap<Long, LocalDateTime> pendingTokenUses = new ConcurrentHashMap<>();
+
+    public ActivityTimestampBuffer(UserHandler userHandler, RefreshTokenHandler refreshTokenHandler) {
+        this.userHandler = userHandler;
+        this.refreshTokenHandler = refreshTokenHandler;
+    }
+
+    /**
+     * Record a successful login
+     *
+     * @param userId User's unique ID
+     * @param loginAt Login time
+     */
+    public void recordLogin(Long userId, LocalDateTime loginAt) {
+        record(pendingLogins, userId, loginAt);
+    }
+
+    /**
+     * Record a refresh token being used
+     *
+     * @param refreshTokenId Refresh token row ID
+     * @param usedAt Use time
+     */
+    public void recordRefreshTokenUse(Long refreshTokenId, LocalDateTime usedAt) {
+        record(pendingTokenUses, refreshTokenId, usedAt);
+    }
+
+    /**
+     * Write all pending timestamps to the database.
+     */
+    @Scheduled(fixedDelayString = "${activity.flush-interval-ms:10000}")
+    public void flush() {
+        flush(pendingLogins, userHandler::updateLastLoginBatch, "last login");
+        flush(pendingTokenUses, refreshTokenHandler::updateLastUsedBatch, "refresh token use");
+    }
+
+    /**
+     * Flush whatever is still buffered before the datasource shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static void record(ConcurrentHashMap<Long, LocalDateTime> pending, Long id, LocalDateTime at) {
+        if (id == null || at == null) {
+            return;
+        }
+        pending.merge(id, at, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    private static void flush(ConcurrentHashMap<Long, LocalDateTime> pending,
+                              Consumer<Map<Long, LocalDateTime>> writer,
+                              String label) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map<Long, LocalDateTime>> chunks = new ArrayList<>();
+        Map<Long, LocalDateTime> chunk = new HashMap<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() == FLUSH_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new HashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        int written = 0;
+        for (Map<Long, LocalDateTime> batch : chunks) {
+            try {
+                writer.accept(batch);
+            } catch (Exception e) {
+                logger.warn("Failed to flush {} {} timestamp(s), will retry: {}", batch.size(), label, e.getMessage());
+                continue;
+            }
+            // Only drop entries that were not updated again while the batch was written
+            batch.forEach(pending::remove);
+            written += batch.size();
+        }
+        logger.debug("Flushed {} {} timestamp(s)", written, label);
+    }
+}
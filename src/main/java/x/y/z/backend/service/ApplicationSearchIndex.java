@@ -0,0 +1,358 @@
+package x.y.z.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import x.y.z.backend.domain.model.Application;
+import x.y.z.backend.handler.ApplicationHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * ApplicationSearchIndex - Node-local trigram index over application name and code.
+ *
+ * Answers search-as-you-type without running LIKE '%...%' (which cannot seek on
+ * idx_application_name) against RAP.application on every keystroke. Only id, name
+ * and code are held; callers load the matching rows by primary key.
+ *
+ * Lifecycle:
+ * 1. Built at startup from the id/name/code of every application
+ * 2. Updated after commit by the create/update/delete paths (ApplicationService,
+ *    ApplicationSubmissionService)
+ * 3. Rebuilt periodically, which also picks up writes made on other replicas
+ *
+ * Until the first build succeeds {@link #isReady()} is false and callers must fall
+ * back to SQL.
+ *
+ * Matching (text is compared case-insensitively):
+ * - CONTAINS: query is a substring of the name or code. Ranked exact match, then
+ *   name/code prefix, then word prefix within the name, then any other substring.
+ * - PREFIX (autocomplete): name or code, or a word within the name, starts with the
+ *   query. Ranked exact match, then name/code prefix, then word prefix.
+ * Ties go to the shorter name, then alphabetical.
+ *
+ * Queries of three characters or more only look at entries holding every trigram of
+ * the query; shorter queries scan the (small, in-memory) entry table.
+ *
+ * Metrics:
+ * - application.search.index.entries  applications held in the index
+ */
+@Component
+public class ApplicationSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    /**
+     * Match modes.
+     */
+    public enum Mode {
+        CONTAINS,
+        PREFIX;
+
+        public static Mode from(String value) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Invalid search mode: '" + value + "'. Valid values: contains, prefix");
+        }
+    }
+
+    private final ApplicationHandler applicationHandler;
+
+    private volatile Snapshot snapshot = new Snapshot();
+    private volatile boolean ready = false;
+
+    /** Local writes applied while a rebuild is reading, replayed onto the rebuilt snapshot (guarded by this) */
+    private List<Consumer<Snapshot>> pendingDuringRebuild = null;
+
+    public ApplicationSearchIndex(ApplicationHandler applicationHandler, MeterRegistry meterRegistry) {
+        this.applicationHandler = applicationHandler;
+        Gauge.builder("application.search.index.entries", this, ApplicationSearchIndex::size)
+                .description("Applications held in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the index once the application (and Flyway) is fully started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Periodic rebuild - picks up writes from other replicas and retries a failed build.
+     */
+    @Scheduled(fixedDelayString = "${application-search.refresh-interval-ms:300000}",
+               initialDelayString = "${application-search.refresh-interval-ms:300000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Snapshot rebuilt = new Snapshot();
+            List<Application> keys = applicationHandler.findSearchKeys();
+            for (Application application : keys) {
+                rebuilt.put(application.getId(), application.getApplicationName(), application.getApplicationCode());
+            }
+            synchronized (this) {
+                // Replaying is idempotent, so writes the read already saw do no harm
+                pendingDuringRebuild.forEach(mutation -> mutation.accept(rebuilt));
+                snapshot = rebuilt;
+                ready = true;
+            }
+            logger.info("Application search index built with {} application(s)", keys.size());
+        } catch (Exception e) {
+            logger.error("Failed to build application search index, searches fall back to SQL: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Index a created or updated application once the current transaction commits.
+     */
+    public void onSaved(Application application) {
+        Long id = application.getId();
+        String name = application.getApplicationName();
+        String code = application.getApplicationCode();
+        afterCommit(index -> index.put(id, name, code));
+    }
+
+    /**
+     * Drop a deleted application once the current transaction commits.
+     */
+    public void onDeleted(Long id) {
+        afterCommit(index -> index.remove(id));
+    }
+
+    /**
+     * @return true once the index has been built
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.entries.size();
+    }
+
+    /**
+     * Find the best matching applications.
+     *
+     * @param query Search text
+     * @param mode CONTAINS or PREFIX
+     * @param limit Maximum number of ids to return
+     * @return Application ids, best match first
+     */
+    public List<Long> search(String query, Mode mode, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        Comparator<Hit> ranking = Comparator.comparingInt((Hit hit) -> hit.tier)
+                .thenComparingInt(hit -> hit.entry.name.length())
+                .thenComparing(hit -> hit.entry.name)
+                .thenComparingLong(hit -> hit.entry.id);
+
+        // Bounded heap holding the best `limit` hits, worst on top
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Entry entry : snapshot.candidates(q)) {
+            int tier = tier(entry, q, mode);
+            if (tier < 0) {
+                continue;
+            }
+            best.add(new Hit(entry, tier));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(ranking);
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ids.add(hit.entry.id);
+        }
+        return ids;
+    }
+
+    /**
+     * @return rank tier (lower is better), or -1 if the entry does not match
+     */
+    private static int tier(Entry entry, String q, Mode mode) {
+        if (entry.name.equals(q) || entry.code.equals(q)) {
+            return 0;
+        }
+        if (entry.name.startsWith(q) || entry.code.startsWith(q)) {
+            return 1;
+        }
+        if (hasWordStartingWith(entry.name, q)) {
+            return 2;
+        }
+        if (mode == Mode.CONTAINS && (entry.name.contains(q) || entry.code.contains(q))) {
+            return 3;
+        }
+        return -1;
+    }
+
+    private static boolean hasWordStartingWith(String text, String q) {
+        for (int i = text.indexOf(q, 1); i > 0; i = text.indexOf(q, i + 1)) {
+            if (!Character.isLetterOrDigit(text.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void afterCommit(Consumer<Snapshot> mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private synchronized void apply(Consumer<Snapshot> mutation) {
+        mutation.accept(snapshot);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(mutation);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void addTrigrams(String text, Set<String> into) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            into.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    /**
+     * Entry table plus trigram -> ids postings. Written under the index lock,
+     * read without locking.
+     */
+    private static final class Snapshot {
+
+        final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        void put(Long id, String name, String code) {
+            remove(id);
+            Entry entry = new Entry(id, normalize(name), normalize(code));
+            entries.put(id, entry);
+            for (String gram : entry.trigrams()) {
+                postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        void remove(Long id) {
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : previous.trigrams()) {
+                postings.computeIfPresent(gram, (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /**
+         * Entries that can match q: those holding every trigram of q, or all
+         * entries when q is too short to have a trigram.
+         */
+        Collection<Entry> candidates(String q) {
+            if (q.length() < GRAM) {
+                return entries.values();
+            }
+            Set<String> grams = new HashSet<>();
+            addTrigrams(q, grams);
+            List<Set<Long>> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            List<Entry> result = new ArrayList<>();
+            for (Long id : lists.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < lists.size() && inAll; i++) {
+                    inAll = lists.get(i).contains(id);
+                }
+                Entry entry = inAll ? entries.get(id) : null;
+                if (entry != null) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Entry {
+
+        final long id;
+        final String name;
+        final String code;
+
+        Entry(long id, String name, String code) {
+            this.id = id;
+            this.name = name;
+            this.code = code;
+        }
+
+        Set<String> trigrams() {
+            Set<String> grams = new HashSet<>();
+            addTrigrams(name, grams);
+            addTrigrams(code, grams);
+            return grams;
+        }
+    }
+
+    private static final class Hit {
+
+        final Entry entry;
+        final int tier;
+
+        Hit(Entry entry, int tier) {
+            this.entry = entry;
+            this.tier = tier;
+        }
+    }
+}
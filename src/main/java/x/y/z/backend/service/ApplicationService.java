@@ -1,13 +1,20 @@
 package x.y.z.backend.service;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import x.y.z.backend.domain.dto.PageResponse;
 import x.y.z.backend.domain.model.Application;
+import x.y.z.backend.exception.PreconditionFailedException;
 import x.y.z.backend.exception.ResourceNotFoundException;
 import x.y.z.backend.handler.ApplicationHandler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * ApplicationService - Service layer with BUSINESS LOGIC and TRANSACTION BOUNDARY.
@@ -24,65 +31,69 @@
 public class ApplicationService {
 
     private final ApplicationHandler applicationHandler;
+    private final ApplicationSearchIndex searchIndex;
 
-    public ApplicationService(ApplicationHandler applicationHandler) {
+    public ApplicationService(ApplicationHandler applicationHandler, ApplicationSearchIndex searchIndex) {
         this.applicationHandler = applicationHandler;
+        this.searchIndex = searchIndex;
     }
 
     /**
      * Create a new application.
-     * BUSINESS LOGIC: Validates unique code, sets defaults, validates status.
+     * BUSINESS LOGIC: Sets defaults, validates status, enforces unique code.
      */
     public Application createApplication(Application application) {
-        // Business Rule 1: Check if application code already exists
-        if (applicationHandler.existsByCode(application.getApplicationCode())) {
-            throw new IllegalArgumentException(
-                "Application code '" + application.getApplicationCode() + "' already exists"
-            );
-        }
-
-        // Business Rule 2: Set default status if not provided
+        // Business Rule 1: Set default status if not provided
         if (application.getStatus() == null || application.getStatus().isEmpty()) {
             application.setStatus("ACTIVE");
         }
 
-        // Business Rule 3: Validate status values
+        // Business Rule 2: Validate status values
         validateStatus(application.getStatus());
 
-        // Business Rule 4: Validate required fields
+        // Business Rule 3: Validate required fields
         validateRequiredFields(application);
 
-        // Delegate to handler for data access
-        return applicationHandler.insert(application);
+        // Business Rule 4: Application code must be unique - enforced by the UNIQUE
+        // constraint on insert rather than a separate existence query
+        Application created;
+        try {
+            created = applicationHandler.insert(application);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(
+                "Application code '" + application.getApplicationCode() + "' already exists"
+            );
+        }
+        searchIndex.onSaved(created);
+        return created;
     }
 
     /**
      * Update an existing application.
-     * BUSINESS LOGIC: Validates existence, prevents code changes, validates status.
+     * BUSINESS LOGIC: Validates status, validates existence, prevents code changes.
+     * When expectedRowVersions is set (If-Match) the update only applies to one of those versions.
      */
     public Application updateApplication(Application application) {
-        // Business Rule 1: Check if application exists
-        Application existing = applicationHandler.findById(application.getId());
-        if (existing == null) {
-            throw new ResourceNotFoundException("Application", application.getId());
-        }
+        try {
+            // Business Rule 1: Validate status values
+            validateStatus(application.getStatus());
 
-        // Business Rule 2: Cannot change application code
-        if (!existing.getApplicationCode().equals(application.getApplicationCode())) {
-            throw new IllegalArgumentException(
-                "Cannot change application code from '" + existing.getApplicationCode() + 
-                "' to '" + application.getApplicationCode() + "'"
-            );
+            // Business Rule 2: Validate required fields
+            validateRequiredFields(application);
+        } catch (IllegalArgumentException e) {
+            // A missing application is reported (404) ahead of an invalid body
+            throw notFoundOr(application, e);
         }
 
-        // Business Rule 3: Validate status values
-        validateStatus(application.getStatus());
-
-        // Business Rule 4: Validate required fields
-        validateRequiredFields(application);
-
-        // Delegate to handler for data access
-        return applicationHandler.update(application);
+        // Business Rule 3: Application must exist, its code cannot change and - for a
+        // conditional update - it must still be at the caller's version; all enforced
+        // by the UPDATE itself (WHERE id AND application_code [AND row_version])
+        Application updated = applicationHandler.update(application);
+        if (updated == null) {
+            throw updateRejected(application);
+        }
+        searchIndex.onSaved(updated);
+        return updated;
     }
 
     /**
@@ -90,18 +101,16 @@ public Application updateApplication(Application application) {
      * BUSINESS LOGIC: Validates existence, checks business constraints.
      */
     public void deleteApplication(Long id) {
-        // Business Rule 1: Check if application exists
-        Application existing = applicationHandler.findById(id);
-        if (existing == null) {
-            throw new ResourceNotFoundException("Application", id);
-        }
-
-        // Business Rule 2: Additional business constraints can be added here
+        // Business Rule 1: Additional business constraints can be added here
         // Example: Cannot delete if application has active dependencies
         // Example: Can only delete if status is ARCHIVED
         
-        // Delegate to handler for data access
-        applicationHandler.delete(id);
+        // Business Rule 2: Application must exist - enforced by the DELETE itself (0 rows deleted)
+        // rather than a separate, possibly cached, existence read
+        if (applicationHandler.delete(id) == 0) {
+            throw new ResourceNotFoundException("Application", id);
+        }
+        searchIndex.onDeleted(id);
     }
 
     /**
@@ -152,13 +161,63 @@ public List<Application> getApplicationsByStatus(String status) {
     }
 
     /**
-     * Search applications by name pattern.
-     * Read-only operation - no business logic needed.
+     * Search applications by name or code.
+     * Answered from the in-memory search index (ranked); falls back to SQL on the
+     * name only while the index is not built.
+     * @param query The search text
+     * @param mode "contains" (ranked substring search) or "prefix" (autocomplete)
+     * @param limit Maximum number of results (1-100)
      */
     @Transactional(readOnly = true)
-    public List<Application> searchApplicationsByName(String namePattern) {
-        // Could add business logic here, e.g., sanitize search pattern
-        return applicationHandler.searchByName(namePattern);
+    public List<Application> searchApplications(String query, String mode, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        if (limit <= 0 || limit > 100) {
+            throw new IllegalArgumentException("Limit must be between 1 and 100");
+        }
+        ApplicationSearchIndex.Mode searchMode = ApplicationSearchIndex.Mode.from(mode);
+
+        if (!searchIndex.isReady()) {
+            if (searchMode == ApplicationSearchIndex.Mode.PREFIX) {
+                return applicationHandler.searchByNamePrefix(query.trim(), limit);
+            }
+            return applicationHandler.searchByName(query, limit);
+        }
+
+        List<Long> rankedIds = searchIndex.search(query, searchMode, limit);
+        Map<Long, Application> byId = applicationHandler.findByIds(rankedIds).stream()
+            .collect(Collectors.toMap(Application::getId, Function.identity()));
+        List<Application> results = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            // Rows deleted on another replica since the last rebuild are skipped
+            Application application = byId.get(id);
+            if (application != null) {
+                results.add(application);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Stream applications for export, optionally filtered by status and/or name.
+     * Rows reach the consumer as they are read; the transaction keeps the
+     * underlying cursor open until the stream is drained.
+     */
+    @Transactional(readOnly = true)
+    public void exportApplications(String status, String namePattern, Consumer<Application> action) {
+        validateExportFilters(status);
+        String pattern = namePattern == null || namePattern.isBlank() ? null : namePattern;
+        applicationHandler.streamApplications(status, pattern, action);
+    }
+
+    /**
+     * Validate export filters up front, before a streaming response is committed.
+     */
+    public void validateExportFilters(String status) {
+        if (status != null) {
+            validateStatus(status);
+        }
     }
 
     /**
@@ -175,10 +234,11 @@ public long getApplicationCount() {
      * @param userEmail The user's email address
      * @param page The page number (0-indexed)
      * @param size The number of items per page
+     * @param includeTotal Whether to count the total matches (false for infinite scroll)
      * @return PageResponse containing applications and pagination metadata
      */
     @Transactional(readOnly = true)
-    public PageResponse<Application> getApplicationsByUser(String userEmail, int page, int size) {
+    public PageResponse<Application> getApplicationsByUser(String userEmail, int page, int size, boolean includeTotal) {
         // Business Rule: Validate pagination parameters
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
@@ -190,7 +250,7 @@ public PageResponse<Application> getApplicationsByUser(String userEmail, int pag
             throw new IllegalArgumentException("User email is required");
         }
         
-        return applicationHandler.findByUserPaginated(userEmail, page, size);
+        return applicationHandler.findByUserPaginated(userEmail, page, size, includeTotal);
     }
 
     /**
@@ -198,7 +258,7 @@ public PageResponse<Application> getApplicationsByUser(String userEmail, int pag
      * Used by internal users to view applications by university.
      */
     @Transactional(readOnly = true)
-    public PageResponse<Application> getApplicationsByUniversity(Long universityId, int page, int size) {
+    public PageResponse<Application> getApplicationsByUniversity(Long universityId, int page, int size, boolean includeTotal) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
         }
@@ -208,7 +268,41 @@ public PageResponse<Application> getApplicationsByUniversity(Long universityId,
         if (universityId == null) {
             throw new IllegalArgumentException("University ID is required");
         }
-        return applicationHandler.findByUniversityPaginated(universityId, page, size);
+        return applicationHandler.findByUniversityPaginated(universityId, page, size, includeTotal);
+    }
+
+    /**
+     * Get applications for a specific user with keyset pagination.
+     * Cost per page stays constant however deep the client pages.
+     * @param userEmail The user's email address
+     * @param cursor The nextCursor of the previous page, or blank for the first page
+     * @param size The number of items per page
+     * @param includeTotal Whether to count the total matches (false for infinite scroll)
+     * @return PageResponse containing applications and the cursor for the next page
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Application> getApplicationsByUserAfter(String userEmail, String cursor, int size, boolean includeTotal) {
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        if (userEmail == null || userEmail.trim().isEmpty()) {
+            throw new IllegalArgumentException("User email is required");
+        }
+        return applicationHandler.findByUserAfter(userEmail, cursor, size, includeTotal);
+    }
+
+    /**
+     * Get applications for a specific university with keyset pagination.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Application> getApplicationsByUniversityAfter(Long universityId, String cursor, int size, boolean includeTotal) {
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        if (universityId == null) {
+            throw new IllegalArgumentException("University ID is required");
+        }
+        return applicationHandler.findByUniversityAfter(universityId, cursor, size, includeTotal);
     }
 
     // =========================================================================
@@ -245,6 +339,33 @@ private boolean isValidStatus(String status) {
         );
     }
 
+    /**
+     * Explain why an update matched no row: the application is gone, the request
+     * tried to change its code, or (If-Match) someone else changed it first.
+     */
+    /**
+     * The update's validation failed: not found if the application does not exist,
+     * otherwise the validation error itself.
+     */
+    private RuntimeException notFoundOr(Application application, IllegalArgumentException validationError) {
+        RuntimeException rejected = updateRejected(application);
+        return rejected instanceof ResourceNotFoundException ? rejected : validationError;
+    }
+
+    private RuntimeException updateRejected(Application application) {
+        Application existing = applicationHandler.findById(application.getId());
+        if (existing == null) {
+            return new ResourceNotFoundException("Application", application.getId());
+        }
+        if (!existing.getApplicationCode().equals(application.getApplicationCode())) {
+            return new IllegalArgumentException(
+                "Cannot change application code from '" + existing.getApplicationCode() + 
+                "' to '" + application.getApplicationCode() + "'"
+            );
+        }
+        return new PreconditionFailedException("Application", application.getId());
+    }
+
     /**
      * Validate required fields.
      * Business rule: Application name and code are mandatory.
@@ -8,6 +8,8 @@
 import x.y.z.backend.controller.dto.ApplicationSubmissionRequest;
 import x.y.z.backend.domain.handler.ApplicationSubmissionHandler;
 import x.y.z.backend.domain.model.Application;
+import x.y.z.backend.domain.model.University;
+import x.y.z.backend.handler.UniversityHandler;
 
 /**
  * Service layer for application submission business logic.
@@ -19,9 +21,15 @@ public class ApplicationSubmissionService {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationSubmissionService.class);
 
     private final ApplicationSubmissionHandler applicationSubmissionHandler;
+    private final ApplicationSearchIndex searchIndex;
+    private final UniversityHandler universityHandler;
 
-    public ApplicationSubmissionService(ApplicationSubmissionHandler applicationSubmissionHandler) {
+    public ApplicationSubmissionService(ApplicationSubmissionHandler applicationSubmissionHandler,
+                                        ApplicationSearchIndex searchIndex,
+                                        UniversityHandler universityHandler) {
         this.applicationSubmissionHandler = applicationSubmissionHandler;
+        this.searchIndex = searchIndex;
+        this.universityHandler = universityHandler;
     }
 
     /**
@@ -40,6 +48,7 @@ public Application submitApplication(ApplicationSubmissionRequest request, Strin
 
         // Delegate to handler for processing
         Application application = applicationSubmissionHandler.createApplicationFromRequest(request, username);
+        searchIndex.onSaved(application);
 
         logger.info("Application created with code: {}", application.getApplicationCode());
         return application;
@@ -85,28 +94,11 @@ private boolean isValidPhone(String phone) {
     }
 
     /**
-     * Validate university selection against allowed list.
+     * Validate university selection against the active universities in RAP.university
+     * (answered from the in-memory reference snapshot).
      */
     private boolean isValidUniversity(String university) {
-        // Validate against predefined list of universities
-        String[] validUniversities = {
-            "Harvard University",
-            "Stanford University",
-            "MIT",
-            "Oxford University",
-            "Cambridge University",
-            "Yale University",
-            "Princeton University",
-            "Columbia University",
-            "University of Chicago",
-            "Imperial College London"
-        };
-
-        for (String validUniv : validUniversities) {
-            if (validUniv.equals(university)) {
-                return true;
-            }
-        }
-        return false;
+        University match = universityHandler.findByName(university);
+        return match != null && "ACTIVE".equals(match.getStatus());
     }
 }
@@ -1,14 +1,22 @@
 package x.y.z.backend.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import x.y.z.backend.domain.model.RefreshToken;
-import x.y.z.backend.domain.model.Role;
 import x.y.z.backend.domain.model.RevokedToken;
+import x.y.z.backend.domain.model.UserIdentity;
+import x.y.z.backend.domain.model.UserTokenEpoch;
 import x.y.z.backend.handler.RefreshTokenHandler;
 import x.y.z.backend.handler.RevokedTokenHandler;
 import x.y.z.backend.handler.UserHandler;
+import x.y.z.backend.handler.UserTokenEpochHandler;
 import x.y.z.backend.security.JwtTokenUtil;
+import x.y.z.backend.security.VerifiedToken;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -17,7 +25,6 @@
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * JwtTokenService - Service layer for JWT token operations.
@@ -25,28 +32,42 @@
  * Responsibilities:
  * - Generate access tokens (JWT) and refresh tokens
  * - Validate and refresh tokens
- * - Revoke tokens (logout)
- * - Manage token blacklist
+ * - Revoke tokens (logout) and mass-revoke a user's tokens via a per-user epoch
+ * - Manage token blacklist (in-memory RevocationIndex, database as fallback)
  */
 @Service
-@Transactional
+@Transactional(transactionManager = "authTransactionManager")
 public class JwtTokenService {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenService.class);
+
     private final JwtTokenUtil jwtTokenUtil;
     private final UserHandler userHandler;
     private final RefreshTokenHandler refreshTokenHandler;
     private final RevokedTokenHandler revokedTokenHandler;
+    private final UserTokenEpochHandler userTokenEpochHandler;
+    private final RevocationIndex revocationIndex;
+    private final RevocationSynchronizer revocationSynchronizer;
+    private final ActivityTimestampBuffer activityTimestampBuffer;
 
     public JwtTokenService(
             JwtTokenUtil jwtTokenUtil,
             UserHandler userHandler,
             RefreshTokenHandler refreshTokenHandler,
-            RevokedTokenHandler revokedTokenHandler) {
+            RevokedTokenHandler revokedTokenHandler,
+            UserTokenEpochHandler userTokenEpochHandler,
+            RevocationIndex revocationIndex,
+            RevocationSynchronizer revocationSynchronizer,
+            ActivityTimestampBuffer activityTimestampBuffer) {
         
         this.jwtTokenUtil = jwtTokenUtil;
         this.userHandler = userHandler;
         this.refreshTokenHandler = refreshTokenHandler;
         this.revokedTokenHandler = revokedTokenHandler;
+        this.userTokenEpochHandler = userTokenEpochHandler;
+        this.revocationIndex = revocationIndex;
+        this.revocationSynchronizer = revocationSynchronizer;
+        this.activityTimestampBuffer = activityTimestampBuffer;
     }
 
     /**
@@ -54,19 +75,15 @@ public JwtTokenService(
      * 
      * @param userId User's unique ID
      * @return TokenPair containing access token and refresh token
+     * @throws IllegalArgumentException if the user does not exist or is deactivated
      */
     public TokenPair generateTokens(Long userId) {
-        // Get user roles
-        List<Role> roles = userHandler.findRolesByUserId(userId);
-        List<String> roleNames = roles.stream()
-                .map(Role::getRoleName)
-                .collect(Collectors.toList());
-
-        // Get user email
-        String email = userHandler.findById(userId).getEmail();
+        // Get user email and roles (single query, rejects inactive users)
+        UserIdentity identity = loadActiveIdentity(userId);
+        List<String> roleNames = identity.getRoles();
 
         // Generate access token (JWT)
-        String accessToken = jwtTokenUtil.generateAccessToken(userId, email, roleNames);
+        String accessToken = jwtTokenUtil.generateAccessToken(userId, identity.getEmail(), roleNames);
 
         // Generate refresh token (random UUID)
         String refreshToken = jwtTokenUtil.generateRefreshToken();
@@ -81,7 +98,7 @@ public TokenPair generateTokens(Long userId) {
         );
         refreshTokenHandler.insert(refreshTokenEntity);
 
-        return new TokenPair(accessToken, refreshToken);
+        return new TokenPair(accessToken, refreshToken, roleNames);
     }
 
     /**
@@ -89,7 +106,7 @@ public TokenPair generateTokens(Long userId) {
      * 
      * @param refreshToken Refresh token string
      * @return New TokenPair with new access token and same refresh token
-     * @throws IllegalArgumentException if refresh token is invalid or expired
+     * @throws IllegalArgumentException if refresh token is invalid or expired, or the user is deactivated
      */
     public TokenPair refreshAccessToken(String refreshToken) {
         String refreshTokenHash = hashToken(refreshToken);
@@ -111,41 +128,87 @@ public TokenPair refreshAccessToken(String refreshToken) {
             throw new IllegalArgumentException("Refresh token has expired");
         }
 
-        // Generate new access token
+        // Generate new access token (single identity query, rejects inactive users)
         Long userId = storedToken.getUserId();
-        List<Role> roles = userHandler.findRolesByUserId(userId);
-        List<String> roleNames = roles.stream()
-                .map(Role::getRoleName)
-                .collect(Collectors.toList());
+        UserIdentity identity = loadActiveIdentity(userId);
+        List<String> roleNames = identity.getRoles();
 
-        String email = userHandler.findById(userId).getEmail();
-        String newAccessToken = jwtTokenUtil.generateAccessToken(userId, email, roleNames);
+        String newAccessToken = jwtTokenUtil.generateAccessToken(userId, identity.getEmail(), roleNames);
+
+        // Track usage without a synchronous UPDATE (write-behind, flushed in batches)
+        activityTimestampBuffer.recordRefreshTokenUse(storedToken.getId(), LocalDateTime.now());
 
         // Return new access token with same refresh token
-        return new TokenPair(newAccessToken, refreshToken);
+        return new TokenPair(newAccessToken, refreshToken, roleNames);
+    }
+
+    /**
+     * Check a refresh token without minting a new access token
+     * 
+     * @param refreshToken Refresh token string
+     * @return true if the token exists, is not revoked and has not expired
+     */
+    @Transactional(transactionManager = "authTransactionManager", readOnly = true)
+    public boolean isRefreshTokenValid(String refreshToken) {
+        RefreshToken storedToken = refreshTokenHandler.findByTokenHash(hashToken(refreshToken));
+        return storedToken != null
+                && !storedToken.getIsRevoked()
+                && storedToken.getExpiresAt().isAfter(LocalDateTime.now());
     }
 
     /**
-     * Validate access token and check if it's revoked
+     * Load the identity projection used to mint tokens
+     * 
+     * @param userId User's unique ID
+     * @return Identity of an active user
+     * @throws IllegalArgumentException if the user does not exist or is deactivated
+     */
+    private UserIdentity loadActiveIdentity(Long userId) {
+        UserIdentity identity = userHandler.findIdentityById(userId);
+        if (identity == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        if (!Boolean.TRUE.equals(identity.getIsActive())) {
+            throw new IllegalArgumentException("User account is deactivated");
+        }
+        return identity;
+    }
+
+    /**
+     * Verify access token once (signature + expiration) and check if it's revoked.
+     * 
+     * SUPPORTS propagation: no transaction (and therefore no pooled connection) is
+     * opened on the hot path; the database is only touched while the in-memory
+     * revocation index is not yet seeded.
      * 
      * @param accessToken JWT access token
-     * @return true if valid and not revoked
+     * @return VerifiedToken if valid and not revoked, null otherwise
      */
-    @Transactional(readOnly = true)
-    public boolean validateAccessToken(String accessToken) {
+    @Transactional(transactionManager = "authTransactionManager", propagation = Propagation.SUPPORTS, readOnly = true)
+    public VerifiedToken verifyAccessToken(String accessToken) {
         try {
             // Parse and validate token signature and expiration
-            jwtTokenUtil.validateToken(accessToken);
+            VerifiedToken token = jwtTokenUtil.verify(accessToken);
 
-            // Check if token is in revocation list
-            String jti = jwtTokenUtil.getJtiFromToken(accessToken);
-            return !revokedTokenHandler.isRevoked(jti);
+            // Check if token is in revocation list or predates the user's token epoch
+            // (database when the index is unseeded or stale)
+            boolean revoked = revocationSynchronizer.isCurrent()
+                    ? revocationIndex.isRevoked(token.getJti())
+                            || revocationIndex.isBeforeUserEpoch(token.getUserId(), token.getIssuedAt())
+                    : revokedTokenHandler.isRevoked(token.getJti())
+                            || isBeforeStoredEpoch(token);
+            return revoked ? null : token;
             
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
+    private boolean isBeforeStoredEpoch(VerifiedToken token) {
+        Long notBefore = userTokenEpochHandler.findNotBefore(token.getUserId());
+        return notBefore != null && token.getIssuedAt().getEpochSecond() < notBefore;
+    }
+
     /**
      * Revoke access token (add to blacklist) - used for logout
      * 
@@ -153,23 +216,82 @@ public boolean validateAccessToken(String accessToken) {
      * @param reason Reason for revocation (e.g., "LOGOUT", "SECURITY_BREACH")
      */
     public void revokeAccessToken(String accessToken, String reason) {
+        VerifiedToken token;
+        try {
+            token = jwtTokenUtil.verify(accessToken);
+        } catch (Exception e) {
+            // Token might be invalid (expired, tampered) - nothing left to revoke
+            logger.debug("Not revoking unverifiable access token: {}", e.getMessage());
+            return;
+        }
+        revokeAccessToken(token, reason);
+    }
+
+    /**
+     * Revoke an already verified access token (add to blacklist)
+     * 
+     * @param token Verified access token to revoke
+     * @param reason Reason for revocation (e.g., "LOGOUT", "SECURITY_BREACH")
+     */
+    public void revokeAccessToken(VerifiedToken token, String reason) {
+        // Reject locally right away, even if the insert below fails
+        revocationIndex.markRevoked(token.getJti(), token.getExpiresAt());
+
         try {
-            String jti = jwtTokenUtil.getJtiFromToken(accessToken);
-            Long userId = jwtTokenUtil.getUserIdFromToken(accessToken);
-            LocalDateTime expiresAt = LocalDateTime.ofInstant(
-                    jwtTokenUtil.getExpirationFromToken(accessToken).toInstant(),
-                    ZoneId.systemDefault()
-            );
-
-            RevokedToken revokedToken = new RevokedToken(jti, userId, expiresAt, reason);
+            LocalDateTime expiresAt = LocalDateTime.ofInstant(token.getExpiresAt(), ZoneId.systemDefault());
+
+            RevokedToken revokedToken = new RevokedToken(token.getJti(), token.getUserId(), expiresAt, reason);
             revokedTokenHandler.insert(revokedToken);
             
         } catch (Exception e) {
-            // Token might be invalid, but we don't care - just log
-            System.err.println("Failed to revoke token: " + e.getMessage());
+            // Already revoked or DB hiccup - logout must still succeed, just log
+            logger.warn("Failed to persist revocation of token {}: {}", token.getJti(), e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidate every access token issued to a user so far (single write, no per-jti rows).
+     * Refresh tokens stay valid, so clients silently obtain a new access token - used when
+     * the claims baked into the token (e.g. roles) have changed.
+     * 
+     * Epoch granularity is the JWT iat (seconds), so the epoch is set to the next second:
+     * every token issued up to and including the current second is rejected, including one
+     * minted concurrently with old roles. A token refreshed within that same second is
+     * rejected too; the client refreshes again and the next second's token is accepted.
+     * 
+     * The local revocation index is updated only after the surrounding transaction
+     * commits, so a rolled-back role change never rejects tokens the database (and every
+     * other replica) still accepts.
+     * 
+     * @param userId User's unique ID
+     * @param reason Reason for revocation (e.g., "ROLE_CHANGE")
+     */
+    public void invalidateAccessTokens(Long userId, String reason) {
+        long notBefore = Instant.now().getEpochSecond() + 1;
+        userTokenEpochHandler.upsert(new UserTokenEpoch(userId, notBefore, reason));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revocationIndex.markUserEpoch(userId, notBefore);
+                }
+            });
+        } else {
+            revocationIndex.markUserEpoch(userId, notBefore);
         }
     }
 
+    /**
+     * Revoke every access and refresh token of a user (logout from all devices, deactivation)
+     * 
+     * @param userId User's unique ID
+     * @param reason Reason for revocation (e.g., "LOGOUT_ALL", "DEACTIVATED")
+     */
+    public void revokeAllTokens(Long userId, String reason) {
+        invalidateAccessTokens(userId, reason);
+        revokeAllRefreshTokens(userId);
+    }
+
     /**
      * Revoke all refresh tokens for a user (logout from all devices)
      * 
@@ -193,23 +315,13 @@ public void revokeRefreshToken(String refreshToken) {
         }
     }
 
-    /**
-     * Cleanup expired tokens (scheduled job)
-     * Removes expired refresh tokens and revoked access tokens from database
-     */
-    public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        refreshTokenHandler.deleteExpired(now);
-        revokedTokenHandler.deleteExpired(now);
-    }
-
     /**
      * Hash token for secure storage (SHA-256)
      * 
      * @param token Token string
      * @return Hexadecimal hash string
      */
-    private String hashToken(String token) {
+    String hashToken(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
@@ -234,10 +346,16 @@ private String hashToken(String token) {
     public static class TokenPair {
         private final String accessToken;
         private final String refreshToken;
+        private final List<String> roles;
 
         public TokenPair(String accessToken, String refreshToken) {
+            this(accessToken, refreshToken, List.of());
+        }
+
+        public TokenPair(String accessToken, String refreshToken, List<String> roles) {
             this.accessToken = accessToken;
             this.refreshToken = refreshToken;
+            this.roles = roles;
         }
 
         public String getAccessToken() {
@@ -247,5 +365,12 @@ public String getAccessToken() {
         public String getRefreshToken() {
             return refreshToken;
         }
+
+        /**
+         * Role names embedded in the access token (avoids re-parsing it for logging)
+         */
+        public List<String> getRoles() {
+            return roles;
+        }
     }
 }
@@ -1,15 +1,15 @@
 package x.y.z.backend.service;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import x.y.z.backend.domain.dto.PageResponse;
 import x.y.z.backend.domain.model.Permit;
-import x.y.z.backend.domain.model.User;
 import x.y.z.backend.exception.ResourceNotFoundException;
 import x.y.z.backend.handler.PermitHandler;
-import x.y.z.backend.handler.UserHandler;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * PermitService - Service layer for permits with BUSINESS LOGIC and TRANSACTION BOUNDARY.
@@ -26,73 +26,67 @@
 public class PermitService {
 
     private final PermitHandler permitHandler;
-    private final UserHandler userHandler;
 
-    public PermitService(PermitHandler permitHandler, UserHandler userHandler) {
+    public PermitService(PermitHandler permitHandler) {
         this.permitHandler = permitHandler;
-        this.userHandler = userHandler;
     }
 
     /**
      * Create a new permit.
-     * BUSINESS LOGIC: Validates unique permit number, sets defaults, validates status.
+     * BUSINESS LOGIC: Sets defaults, validates status, enforces unique permit number.
      */
     public Permit createPermit(Permit permit) {
-        // Business Rule 1: Check if permit number already exists
-        if (permitHandler.existsByPermitNumber(permit.getPermitNumber())) {
-            throw new IllegalArgumentException(
-                "Permit number '" + permit.getPermitNumber() + "' already exists"
-            );
-        }
-
-        // Business Rule 2: Set default status if not provided
+        // Business Rule 1: Set default status if not provided
         if (permit.getStatus() == null || permit.getStatus().isEmpty()) {
             permit.setStatus("ACTIVE");
         }
 
-        // Business Rule 3: Validate status values
+        // Business Rule 2: Validate status values
         validateStatus(permit.getStatus());
 
-        // Business Rule 4: Validate required fields
+        // Business Rule 3: Validate required fields
         validateRequiredFields(permit);
 
-        // Business Rule 5: Validate dates (expiry must be after issue)
+        // Business Rule 4: Validate dates (expiry must be after issue)
         validateDates(permit);
 
-        // Delegate to handler for data access
-        return permitHandler.insert(permit);
+        // Business Rule 5: Permit number must be unique - enforced by the UNIQUE
+        // constraint on insert rather than a separate existence query
+        try {
+            return permitHandler.insert(permit);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(
+                "Permit number '" + permit.getPermitNumber() + "' already exists"
+            );
+        }
     }
 
     /**
      * Update an existing permit.
-     * BUSINESS LOGIC: Validates existence, prevents permit number changes, validates status.
+     * BUSINESS LOGIC: Validates status, validates existence, prevents permit number changes.
      */
     public Permit updatePermit(Permit permit) {
-        // Business Rule 1: Check if permit exists
-        Permit existing = permitHandler.findById(permit.getId());
-        if (existing == null) {
-            throw new ResourceNotFoundException("Permit", permit.getId());
+        try {
+            // Business Rule 1: Validate status values
+            validateStatus(permit.getStatus());
+
+            // Business Rule 2: Validate required fields
+            validateRequiredFields(permit);
+
+            // Business Rule 3: Validate dates
+            validateDates(permit);
+        } catch (IllegalArgumentException e) {
+            // A missing permit is reported (404) ahead of an invalid body
+            throw notFoundOr(permit, e);
         }
 
-        // Business Rule 2: Cannot change permit number
-        if (!existing.getPermitNumber().equals(permit.getPermitNumber())) {
-            throw new IllegalArgumentException(
-                "Cannot change permit number from '" + existing.getPermitNumber() + 
-                "' to '" + permit.getPermitNumber() + "'"
-            );
+        // Business Rule 4: Permit must exist and its number cannot change - both
+        // enforced by the UPDATE itself (WHERE id AND permit_number)
+        Permit updated = permitHandler.update(permit);
+        if (updated == null) {
+            throw updateRejected(permit);
         }
-
-        // Business Rule 3: Validate status values
-        validateStatus(permit.getStatus());
-
-        // Business Rule 4: Validate required fields
-        validateRequiredFields(permit);
-
-        // Business Rule 5: Validate dates
-        validateDates(permit);
-
-        // Delegate to handler for data access
-        return permitHandler.update(permit);
+        return updated;
     }
 
     /**
@@ -100,14 +94,11 @@ public Permit updatePermit(Permit permit) {
      * BUSINESS LOGIC: Validates existence.
      */
     public void deletePermit(Long id) {
-        // Business Rule 1: Check if permit exists
-        Permit existing = permitHandler.findById(id);
-        if (existing == null) {
+        // Business Rule 1: Permit must exist - enforced by the DELETE itself (0 rows deleted)
+        // rather than a separate, possibly cached, existence read
+        if (permitHandler.delete(id) == 0) {
             throw new ResourceNotFoundException("Permit", id);
         }
-
-        // Delegate to handler for data access
-        permitHandler.delete(id);
     }
 
     /**
@@ -145,6 +136,15 @@ public List<Permit> getAllPermits() {
         return permitHandler.findAll();
     }
 
+    /**
+     * Stream all permits for export.
+     * Streaming alternative to getAllPermits() - rows are never collected into a list.
+     */
+    @Transactional(readOnly = true)
+    public void exportPermits(Consumer<Permit> action) {
+        permitHandler.streamAll(action);
+    }
+
     /**
      * Get permits by status.
      * BUSINESS LOGIC: Validates status value.
@@ -176,33 +176,26 @@ public long getPermitCount() {
     }
 
     /**
-     * Get permits for a specific user with pagination.
-     * @param holderEmail The permit holder's email address
+     * Get permits for the authenticated holder with pagination.
+     * Takes the user ID straight from the principal - no user lookup.
+     * @param holderId The permit holder's user ID (CurrentUser.getUserId())
      * @param page The page number (0-indexed)
      * @param size The number of items per page
+     * @param includeTotal Whether to count the total matches (false for infinite scroll)
      * @return PageResponse containing permits and pagination metadata
      */
     @Transactional(readOnly = true)
-    public PageResponse<Permit> getPermitsByUser(String holderEmail, int page, int size) {
-        // Business Rule: Validate pagination parameters
+    public PageResponse<Permit> getPermitsByHolder(Long holderId, int page, int size, boolean includeTotal) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
         }
         if (size <= 0 || size > 100) {
             throw new IllegalArgumentException("Page size must be between 1 and 100");
         }
-        if (holderEmail == null || holderEmail.trim().isEmpty()) {
-            throw new IllegalArgumentException("Holder email is required");
-        }
-        
-        // Look up user ID from email
-        User user = userHandler.findByEmail(holderEmail);
-        if (user == null) {
-            throw new ResourceNotFoundException("User not found: " + holderEmail);
+        if (holderId == null) {
+            throw new IllegalArgumentException("Holder ID is required");
         }
-        
-        // Query permits by user ID
-        return permitHandler.findByUserPaginated(user.getId().toString(), page, size);
+        return permitHandler.findByUserPaginated(holderId, page, size, includeTotal);
     }
 
     /**
@@ -210,7 +203,7 @@ public PageResponse<Permit> getPermitsByUser(String holderEmail, int page, int s
      * Used by internal users to view permits by university.
      */
     @Transactional(readOnly = true)
-    public PageResponse<Permit> getPermitsByUniversity(Long universityId, int page, int size) {
+    public PageResponse<Permit> getPermitsByUniversity(Long universityId, int page, int size, boolean includeTotal) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
         }
@@ -220,7 +213,36 @@ public PageResponse<Permit> getPermitsByUniversity(Long universityId, int page,
         if (universityId == null) {
             throw new IllegalArgumentException("University ID is required");
         }
-        return permitHandler.findByUniversityPaginated(universityId, page, size);
+        return permitHandler.findByUniversityPaginated(universityId, page, size, includeTotal);
+    }
+
+    /**
+     * Get permits for the authenticated holder with keyset pagination.
+     * Takes the user ID straight from the principal - no user lookup.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Permit> getPermitsByHolderAfter(Long holderId, String cursor, int size, boolean includeTotal) {
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        if (holderId == null) {
+            throw new IllegalArgumentException("Holder ID is required");
+        }
+        return permitHandler.findByUserAfter(holderId, cursor, size, includeTotal);
+    }
+
+    /**
+     * Get permits for a specific university with keyset pagination.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Permit> getPermitsByUniversityAfter(Long universityId, String cursor, int size, boolean includeTotal) {
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        if (universityId == null) {
+            throw new IllegalArgumentException("University ID is required");
+        }
+        return permitHandler.findByUniversityAfter(universityId, cursor, size, includeTotal);
     }
 
     // =========================================================================
@@ -255,6 +277,30 @@ private boolean isValidStatus(String status) {
         );
     }
 
+    /**
+     * Explain why an update matched no row: the permit is gone, or the request
+     * tried to change its permit number.
+     */
+    /**
+     * The update's validation failed: not found if the permit does not exist,
+     * otherwise the validation error itself.
+     */
+    private RuntimeException notFoundOr(Permit permit, IllegalArgumentException validationError) {
+        RuntimeException rejected = updateRejected(permit);
+        return rejected instanceof ResourceNotFoundException ? rejected : validationError;
+    }
+
+    private RuntimeException updateRejected(Permit permit) {
+        Permit existing = permitHandler.findById(permit.getId());
+        if (existing == null) {
+            return new ResourceNotFoundException("Permit", permit.getId());
+        }
+        return new IllegalArgumentException(
+            "Cannot change permit number from '" + existing.getPermitNumber() + 
+            "' to '" + permit.getPermitNumber() + "'"
+        );
+    }
+
     /**
      * Validate required fields.
      */
@@ -4,12 +4,11 @@
 import org.springframework.transaction.annotation.Transactional;
 import x.y.z.backend.domain.dto.PageResponse;
 import x.y.z.backend.domain.model.Task;
-import x.y.z.backend.domain.model.User;
 import x.y.z.backend.exception.ResourceNotFoundException;
 import x.y.z.backend.handler.ProcessHandler;
-import x.y.z.backend.handler.UserHandler;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * ProcessService - Service layer for workflow tasks with BUSINESS LOGIC and TRANSACTION BOUNDARY.
@@ -26,11 +25,9 @@
 public class ProcessService {
 
     private final ProcessHandler processHandler;
-    private final UserHandler userHandler;
 
-    public ProcessService(ProcessHandler processHandler, UserHandler userHandler) {
+    public ProcessService(ProcessHandler processHandler) {
         this.processHandler = processHandler;
-        this.userHandler = userHandler;
     }
 
     /**
@@ -55,23 +52,29 @@ public Task createTask(Task task) {
 
     /**
      * Update an existing task.
-     * BUSINESS LOGIC: Validates existence, validates status.
+     * BUSINESS LOGIC: Validates status, validates existence.
      */
     public Task updateTask(Task task) {
-        // Business Rule 1: Check if task exists
-        Task existing = processHandler.findById(task.getId());
-        if (existing == null) {
-            throw new ResourceNotFoundException("Task", task.getId());
+        try {
+            // Business Rule 1: Validate status values
+            validateStatus(task.getStatus());
+
+            // Business Rule 2: Validate required fields
+            validateRequiredFields(task);
+        } catch (IllegalArgumentException e) {
+            // A missing task is reported (404) ahead of an invalid body
+            if (processHandler.findById(task.getId()) == null) {
+                throw new ResourceNotFoundException("Task", task.getId());
+            }
+            throw e;
         }
 
-        // Business Rule 2: Validate status values
-        validateStatus(task.getStatus());
-
-        // Business Rule 3: Validate required fields
-        validateRequiredFields(task);
-
-        // Delegate to handler for data access
-        return processHandler.update(task);
+        // Business Rule 3: Task must exist - enforced by the UPDATE itself
+        Task updated = processHandler.update(task);
+        if (updated == null) {
+            throw new ResourceNotFoundException("Task", task.getId());
+        }
+        return updated;
     }
 
     /**
@@ -79,14 +82,11 @@ public Task updateTask(Task task) {
      * BUSINESS LOGIC: Validates existence.
      */
     public void deleteTask(Long id) {
-        // Business Rule 1: Check if task exists
-        Task existing = processHandler.findById(id);
-        if (existing == null) {
+        // Business Rule 1: Task must exist - enforced by the DELETE itself (0 rows deleted)
+        // rather than a separate, possibly cached, existence read
+        if (processHandler.delete(id) == 0) {
             throw new ResourceNotFoundException("Task", id);
         }
-
-        // Delegate to handler for data access
-        processHandler.delete(id);
     }
 
     /**
@@ -111,6 +111,15 @@ public List<Task> getAllTasks() {
         return processHandler.findAll();
     }
 
+    /**
+     * Stream all tasks for export.
+     * Streaming alternative to getAllTasks() - rows are never collected into a list.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<Task> action) {
+        processHandler.streamAll(action);
+    }
+
     /**
      * Get tasks by status.
      * BUSINESS LOGIC: Validates status value.
@@ -142,33 +151,41 @@ public long getTaskCount() {
     }
 
     /**
-     * Get tasks assigned to a specific user with pagination.
-     * @param assignedTo The user's email address
+     * Get tasks assigned to the authenticated user with pagination.
+     * Takes the user ID straight from the principal - no user lookup.
+     * @param assigneeId The assignee's user ID (CurrentUser.getUserId())
      * @param page The page number (0-indexed)
      * @param size The number of items per page
+     * @param includeTotal Whether to count the total matches (false for infinite scroll)
      * @return PageResponse containing tasks and pagination metadata
      */
     @Transactional(readOnly = true)
-    public PageResponse<Task> getTasksByUser(String assignedTo, int page, int size) {
-        // Business Rule: Validate pagination parameters
+    public PageResponse<Task> getTasksByAssignee(Long assigneeId, int page, int size, boolean includeTotal) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
         }
         if (size <= 0 || size > 100) {
             throw new IllegalArgumentException("Page size must be between 1 and 100");
         }
-        if (assignedTo == null || assignedTo.trim().isEmpty()) {
-            throw new IllegalArgumentException("Assigned to email is required");
+        if (assigneeId == null) {
+            throw new IllegalArgumentException("Assignee ID is required");
         }
-        
-        // Look up user ID from username/email
-        User user = userHandler.findByEmail(assignedTo);
-        if (user == null) {
-            throw new ResourceNotFoundException("User not found: " + assignedTo);
+        return processHandler.findByUserPaginated(assigneeId, page, size, includeTotal);
+    }
+
+    /**
+     * Get tasks assigned to the authenticated user with keyset pagination.
+     * Takes the user ID straight from the principal - no user lookup.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Task> getTasksByAssigneeAfter(Long assigneeId, String cursor, int size, boolean includeTotal) {
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
         }
-        
-        // Query tasks by user ID (convert UUID to string for MyBatis)
-        return processHandler.findByUserPaginated(user.getId().toString(), page, size);
+        if (assigneeId == null) {
+            throw new IllegalArgumentException("Assignee ID is required");
+        }
+        return processHandler.findByUserAfter(assigneeId, cursor, size, includeTotal);
     }
 
     // =========================================================================
@@ -0,0 +1,239 @@
+package x.y.z.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.model.RevokedToken;
+import x.y.z.backend.domain.model.UserTokenEpoch;
+import x.y.z.backend.handler.RevokedTokenHandler;
+import x.y.z.backend.handler.UserTokenEpochHandler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RevocationIndex - Node-local index of revoked access token JTIs and per-user
+ * token epochs ("not valid before", see RAP.user_token_epoch).
+ *
+ * Lets the authentication path answer "is this token revoked?" without borrowing a
+ * database connection on every request.
+ *
+ * Lifecycle:
+ * 1. Seeded at startup from the unexpired rows of RAP.revoked_tokens and the
+ *    user epochs that can still reject a live token
+ * 2. Updated by JwtTokenService: revokeAccessToken right away, invalidateAccessTokens
+ *    once its transaction commits
+ * 3. Updated from other replicas by RevocationSynchronizer, which polls for rows
+ *    revoked after {@link #getWatermark()}
+ * 4. Entries age out at their expires_at (a revoked token past its natural expiry
+ *    is rejected by signature validation anyway); a user epoch ages out once every
+ *    token issued before it has expired
+ *
+ * Until seeding succeeds the index reports {@link #isReady()} = false and callers
+ * must fall back to the database check.
+ */
+@Component
+public class RevocationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationIndex.class);
+
+    private final RevokedTokenHandler revokedTokenHandler;
+    private final UserTokenEpochHandler userTokenEpochHandler;
+    private final long accessTokenTtlSeconds;
+
+    /** jti -> expires_at (epoch millis) */
+    private final ConcurrentHashMap<String, Long> revokedJtis = new ConcurrentHashMap<>();
+
+    /** user id -> not_before (epoch seconds) */
+    private final ConcurrentHashMap<Long, Long> userEpochs = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    /** Newest revoked_at / updated_at (database UTC clock) known to be reflected in the index */
+    private volatile LocalDateTime watermark;
+
+    /** Wall-clock time the index was last seeded, 0 if never */
+    private volatile long seededAtMillis = 0L;
+
+    public RevocationIndex(
+            RevokedTokenHandler revokedTokenHandler,
+            UserTokenEpochHandler userTokenEpochHandler,
+            @Value("${jwt.access-token-expiration-minutes:15}") long accessTokenExpirationMinutes) {
+        this.revokedTokenHandler = revokedTokenHandler;
+        this.userTokenEpochHandler = userTokenEpochHandler;
+        this.accessTokenTtlSeconds = accessTokenExpirationMinutes * 60;
+    }
+
+    /**
+     * Seed the index once the application (and Flyway) is fully started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            // Read the DB clock first so rows inserted while seeding are picked up by the next sync
+            LocalDateTime seedWatermark = revokedTokenHandler.currentUtcTime();
+            List<RevokedToken> unexpired = revokedTokenHandler.findUnexpired(LocalDateTime.now());
+            for (RevokedToken revokedToken : unexpired) {
+                markRevoked(revokedToken.getJti(), revokedToken.getExpiresAt());
+            }
+            List<UserTokenEpoch> epochs = userTokenEpochHandler.findActive(epochHorizon());
+            for (UserTokenEpoch epoch : epochs) {
+                markUserEpoch(epoch.getUserId(), epoch.getNotBefore());
+            }
+            watermark = seedWatermark;
+            seededAtMillis = System.currentTimeMillis();
+            ready = true;
+            logger.info("Revocation index seeded with {} unexpired token(s) and {} user epoch(s)",
+                    unexpired.size(), epochs.size());
+        } catch (Exception e) {
+            logger.error("Failed to seed revocation index, falling back to database checks: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Periodically drop entries whose token has expired naturally.
+     * Also retries seeding if it failed at startup.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        if (!ready) {
+            seed();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int before = revokedJtis.size();
+        revokedJtis.values().removeIf(expiresAt -> expiresAt <= now);
+        long horizon = epochHorizon();
+        int beforeEpochs = userEpochs.size();
+        userEpochs.values().removeIf(notBefore -> notBefore <= horizon);
+        int evicted = before - revokedJtis.size() + beforeEpochs - userEpochs.size();
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired entries from revocation index", evicted);
+        }
+    }
+
+    /**
+     * Record a revoked token.
+     *
+     * @param jti JWT ID
+     * @param expiresAt When the token would have expired naturally
+     */
+    public void markRevoked(String jti, LocalDateTime expiresAt) {
+        markRevoked(jti, expiresAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Record a revoked token.
+     *
+     * @param jti JWT ID
+     * @param expiresAt When the token would have expired naturally
+     */
+    public void markRevoked(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        revokedJtis.merge(jti, expiresAt.toEpochMilli(), Math::max);
+    }
+
+    /**
+     * Record a user's token epoch: every access token issued before it is revoked.
+     *
+     * @param userId User's unique ID
+     * @param notBefore Epoch seconds
+     */
+    public void markUserEpoch(Long userId, Long notBefore) {
+        if (userId == null || notBefore == null) {
+            return;
+        }
+        userEpochs.merge(userId, notBefore, Math::max);
+    }
+
+    /**
+     * Check whether a token was issued before its user's epoch (constant time, no database access).
+     *
+     * @param userId User's unique ID (token subject)
+     * @param issuedAt Token iat
+     * @return true if the user's tokens were mass-revoked after this token was issued
+     */
+    public boolean isBeforeUserEpoch(Long userId, Instant issuedAt) {
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long notBefore = userEpochs.get(userId);
+        return notBefore != null && issuedAt.getEpochSecond() < notBefore;
+    }
+
+    /**
+     * Epochs at or below this value can no longer match an unexpired access token.
+     */
+    private long epochHorizon() {
+        return System.currentTimeMillis() / 1000 - accessTokenTtlSeconds;
+    }
+
+    /**
+     * Check whether a token is revoked (constant time, no database access).
+     *
+     * @param jti JWT ID
+     * @return true if the jti is revoked and has not yet aged out
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiresAt = revokedJtis.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Move the sync watermark forward (never backwards).
+     *
+     * @param newest revoked_at / updated_at of the newest row merged into the index
+     */
+    public synchronized void advanceWatermark(LocalDateTime newest) {
+        if (newest != null && (watermark == null || newest.isAfter(watermark))) {
+            watermark = newest;
+        }
+    }
+
+    /**
+     * @return Newest database timestamp reflected in the index, or null before seeding
+     */
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return Wall-clock time of the last successful seed, 0 if never seeded
+     */
+    public long getSeededAtMillis() {
+        return seededAtMillis;
+    }
+
+    /**
+     * @return true once the index has been seeded from the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return Number of revoked JTIs currently tracked
+     */
+    public int size() {
+        return revokedJtis.size();
+    }
+
+    /**
+     * @return Number of user epochs currently tracked
+     */
+    public int userEpochCount() {
+        return userEpochs.size();
+    }
+}
@@ -0,0 +1,161 @@
+package x.y.z.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import x.y.z.backend.domain.model.RevokedToken;
+import x.y.z.backend.domain.model.UserTokenEpoch;
+import x.y.z.backend.handler.RevokedTokenHandler;
+import x.y.z.backend.handler.UserHandler;
+import x.y.z.backend.handler.UserTokenEpochHandler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * RevocationSynchronizer - Propagates revocations made on other replicas into the
+ * node-local {@link RevocationIndex}.
+ *
+ * Every poll pulls only the rows of RAP.revoked_tokens whose revoked_at, and of
+ * RAP.user_token_epoch whose updated_at, is newer than the index watermark (range
+ * seeks on IX_revoked_tokens_revoked_at / IX_user_token_epoch_updated_at). Both
+ * columns come from the database UTC clock, so one watermark covers both. The query window
+ * starts a little before the watermark so rows committed late with an earlier
+ * revoked_at are not missed; merging into the index is idempotent.
+ *
+ * A merged user epoch also evicts the user's cached role set (UserHandler), so a role
+ * change made on another replica is not re-minted from stale roles on this one.
+ *
+ * If polling stops succeeding for longer than the configured staleness bound,
+ * {@link #isCurrent()} turns false and JwtTokenService checks the database instead.
+ *
+ * Metrics:
+ * - auth.revocation.sync.lag      seconds since the last successful poll (or seed)
+ * - auth.revocation.index.size    revoked JTIs held in memory
+ * - auth.revocation.user-epochs   user token epochs held in memory
+ * - auth.revocation.sync.merged   rows merged from the database
+ * - auth.revocation.sync.failures failed polls
+ */
+@Component
+public class RevocationSynchronizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationSynchronizer.class);
+
+    private final RevocationIndex revocationIndex;
+    private final RevokedTokenHandler revokedTokenHandler;
+    private final UserTokenEpochHandler userTokenEpochHandler;
+    private final UserHandler userHandler;
+    private final boolean enabled;
+    private final long maxStalenessMs;
+    private final long overlapMs;
+
+    private final Counter mergedCounter;
+    private final Counter failureCounter;
+
+    /** Wall-clock time of the last successful poll, 0 if never */
+    private volatile long lastSuccessMillis = 0L;
+
+    public RevocationSynchronizer(
+            RevocationIndex revocationIndex,
+            RevokedTokenHandler revokedTokenHandler,
+            UserTokenEpochHandler userTokenEpochHandler,
+            UserHandler userHandler,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.revocation.sync.enabled:true}") boolean enabled,
+            @Value("${jwt.revocation.sync.max-staleness-ms:30000}") long maxStalenessMs,
+            @Value("${jwt.revocation.sync.overlap-ms:5000}") long overlapMs) {
+
+        this.revocationIndex = revocationIndex;
+        this.revokedTokenHandler = revokedTokenHandler;
+        this.userTokenEpochHandler = userTokenEpochHandler;
+        this.userHandler = userHandler;
+        this.enabled = enabled;
+        this.maxStalenessMs = maxStalenessMs;
+        this.overlapMs = overlapMs;
+
+        this.mergedCounter = meterRegistry.counter("auth.revocation.sync.merged");
+        this.failureCounter = meterRegistry.counter("auth.revocation.sync.failures");
+        Gauge.builder("auth.revocation.sync.lag", this, RevocationSynchronizer::getLagSeconds)
+                .description("Seconds since the revocation index last synced with the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.index.size", revocationIndex, RevocationIndex::size)
+                .description("Revoked access token JTIs held in memory")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.user-epochs", revocationIndex, RevocationIndex::userEpochCount)
+                .description("Per-user token epochs held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pull revocations newer than the watermark and merge them into the index.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled || !revocationIndex.isReady()) {
+            // Seeding (and its retry) is owned by RevocationIndex
+            return;
+        }
+        LocalDateTime watermark = revocationIndex.getWatermark();
+        try {
+            LocalDateTime since = watermark.minusNanos(overlapMs * 1_000_000L);
+            List<RevokedToken> rows = revokedTokenHandler.findRevokedSince(since, LocalDateTime.now());
+            LocalDateTime newest = null;
+            for (RevokedToken row : rows) {
+                revocationIndex.markRevoked(row.getJti(), row.getExpiresAt());
+                if (newest == null || row.getRevokedAt().isAfter(newest)) {
+                    newest = row.getRevokedAt();
+                }
+            }
+            List<UserTokenEpoch> epochs = userTokenEpochHandler.findUpdatedSince(since);
+            for (UserTokenEpoch epoch : epochs) {
+                revocationIndex.markUserEpoch(epoch.getUserId(), epoch.getNotBefore());
+                userHandler.evictRoles(epoch.getUserId());
+                if (newest == null || epoch.getUpdatedAt().isAfter(newest)) {
+                    newest = epoch.getUpdatedAt();
+                }
+            }
+            revocationIndex.advanceWatermark(newest);
+            mergedCounter.increment(rows.size() + epochs.size());
+            lastSuccessMillis = System.currentTimeMillis();
+        } catch (Exception e) {
+            failureCounter.increment();
+            logger.warn("Revocation sync failed (lag {}s): {}", (long) getLagSeconds(), e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the in-memory index can be trusted for revocation checks.
+     *
+     * @return true if the index is seeded and (when syncing is enabled) has synced recently
+     */
+    public boolean isCurrent() {
+        if (!revocationIndex.isReady()) {
+            return false;
+        }
+        if (!enabled) {
+            return true;
+        }
+        return System.currentTimeMillis() - lastSyncedMillis() <= maxStalenessMs;
+    }
+
+    /**
+     * @return Seconds since the index last matched the database, or -1 before seeding
+     */
+    public double getLagSeconds() {
+        long lastSynced = lastSyncedMillis();
+        return lastSynced == 0L ? -1 : (System.currentTimeMillis() - lastSynced) / 1000.0;
+    }
+
+    /**
+     * The seed counts as a sync, so a fresh index is current until the first poll.
+     */
+    private long lastSyncedMillis() {
+        return Math.max(lastSuccessMillis, revocationIndex.getSeededAtMillis());
+    }
+}
@@ -0,0 +1,143 @@
+package x.y.z.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import x.y.z.backend.handler.AppLockHandler;
+import x.y.z.backend.handler.RefreshTokenHandler;
+import x.y.z.backend.handler.RevokedTokenHandler;
+
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * TokenPurgeService - Scheduled, chunked purge of expired rows from the auth tables.
+ *
+ * Deletes from RAP.refresh_tokens and RAP.revoked_tokens in bounded batches
+ * (DELETE TOP (n)), each auto-committed on its own and separated by a short pause, so
+ * the purge never escalates to a table lock or holds a large transaction open on
+ * tables that every login touches.
+ *
+ * Only one replica purges at a time: the run is guarded by an exclusive SQL Server
+ * application lock; replicas that do not get it skip the run.
+ *
+ * Intentionally not @Transactional - a surrounding transaction would turn the
+ * batches back into one large delete.
+ *
+ * Metrics (tag table=refresh_tokens|revoked_tokens):
+ * - auth.token.purge.rows   rows deleted
+ * - auth.token.purge.batch  time per DELETE batch
+ * - auth.token.purge.skipped runs skipped because another replica holds the lock
+ */
+@Service
+public class TokenPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenPurgeService.class);
+
+    /** Application lock resource shared by all replicas */
+    static final String LOCK_RESOURCE = "rap-backend:token-purge";
+
+    private final AppLockHandler appLockHandler;
+    private final RefreshTokenHandler refreshTokenHandler;
+    private final RevokedTokenHandler revokedTokenHandler;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxBatchesPerRun;
+
+    private final Counter skippedCounter;
+
+    public TokenPurgeService(
+            AppLockHandler appLockHandler,
+            RefreshTokenHandler refreshTokenHandler,
+            RevokedTokenHandler revokedTokenHandler,
+            MeterRegistry meterRegistry,
+            @Value("${token-purge.batch-size:1000}") int batchSize,
+            @Value("${token-purge.batch-pause-ms:100}") long batchPauseMs,
+            @Value("${token-purge.max-batches-per-run:500}") int maxBatchesPerRun) {
+
+        this.appLockHandler = appLockHandler;
+        this.refreshTokenHandler = refreshTokenHandler;
+        this.revokedTokenHandler = revokedTokenHandler;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.skippedCounter = meterRegistry.counter("auth.token.purge.skipped");
+    }
+
+    /**
+     * Scheduled entry point.
+     */
+    @Scheduled(fixedDelayString = "${token-purge.interval-ms:3600000}",
+               initialDelayString = "${token-purge.initial-delay-ms:300000}")
+    public void scheduledPurge() {
+        try {
+            purgeExpired();
+        } catch (Exception e) {
+            logger.error("Token purge failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Purge expired refresh tokens and revoked access tokens, if no other replica is.
+     *
+     * @return true if this replica ran the purge, false if it was skipped
+     */
+    public boolean purgeExpired() {
+        boolean ran = appLockHandler.runExclusive(LOCK_RESOURCE, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            long refreshTokens = purgeTable("refresh_tokens", refreshTokenHandler::deleteExpiredBatch, now);
+            long revokedTokens = purgeTable("revoked_tokens", revokedTokenHandler::deleteExpiredBatch, now);
+            logger.info("Token purge complete: {} refresh token(s), {} revoked token(s) deleted",
+                    refreshTokens, revokedTokens);
+        });
+        if (!ran) {
+            skippedCounter.increment();
+            logger.debug("Token purge skipped - another replica holds the purge lock");
+        }
+        return ran;
+    }
+
+    private long purgeTable(String table,
+                            BiFunction<LocalDateTime, Integer, Integer> deleteBatch,
+                            LocalDateTime now) {
+        Counter rows = meterRegistry.counter("auth.token.purge.rows", "table", table);
+        Timer batchTimer = meterRegistry.timer("auth.token.purge.batch", "table", table);
+
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer deleted = batchTimer.record(() -> deleteBatch.apply(now, batchSize));
+            int count = deleted != null ? deleted : 0;
+            rows.increment(count);
+            total += count;
+            if (count < batchSize) {
+                return total;
+            }
+            if (!pause()) {
+                return total;
+            }
+        }
+        logger.info("Token purge of {} stopped after {} batches; the rest is left for the next run",
+                table, maxBatchesPerRun);
+        return total;
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
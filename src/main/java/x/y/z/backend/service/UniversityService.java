@@ -1,7 +1,6 @@
 package x.y.z.backend.service;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import x.y.z.backend.domain.model.University;
 import x.y.z.backend.exception.ResourceNotFoundException;
 import x.y.z.backend.handler.UniversityHandler;
@@ -10,10 +9,10 @@
 
 /**
  * UniversityService - Service layer for University entities.
- * Read-only reference data.
+ * Read-only reference data, served from the handler's in-memory snapshot
+ * (no transaction - these reads never touch the database).
  */
 @Service
-@Transactional(readOnly = true)
 public class UniversityService {
 
     private final UniversityHandler universityHandler;
@@ -22,6 +21,13 @@ public UniversityService(UniversityHandler universityHandler) {
         this.universityHandler = universityHandler;
     }
 
+    /**
+     * Opaque token that is replaced (compare by identity) whenever the university data changes.
+     */
+    public Object getDataVersion() {
+        return universityHandler.snapshot();
+    }
+
     /**
      * Get all active universities.
      */
@@ -19,13 +19,20 @@
  * - Handle user activation/deactivation
  */
 @Service
-@Transactional
+@Transactional(transactionManager = "authTransactionManager")
 public class UserService {
 
     private final UserHandler userHandler;
+    private final JwtTokenService jwtTokenService;
+    private final ActivityTimestampBuffer activityTimestampBuffer;
 
-    public UserService(UserHandler userHandler) {
+    public UserService(
+            UserHandler userHandler,
+            JwtTokenService jwtTokenService,
+            ActivityTimestampBuffer activityTimestampBuffer) {
         this.userHandler = userHandler;
+        this.jwtTokenService = jwtTokenService;
+        this.activityTimestampBuffer = activityTimestampBuffer;
     }
 
     /**
@@ -49,8 +56,8 @@ public User getOrCreateUserFromOidc(OidcUser oidcUser) {
         User existingUser = userHandler.findByOidcSubject(oidcSubject);
         
         if (existingUser != null) {
-            // Update last login time
-            userHandler.updateLastLogin(existingUser.getId(), LocalDateTime.now());
+            // Update last login time (write-behind, flushed in batches)
+            activityTimestampBuffer.recordLogin(existingUser.getId(), LocalDateTime.now());
             
             // Update user info if changed (with null-safe comparison)
             boolean emailChanged = email != null && !email.equals(existingUser.getEmail());
@@ -81,7 +88,7 @@ public User getOrCreateUserFromOidc(OidcUser oidcUser) {
                     existingByEmail.setFullName(fullName);
                 }
                 userHandler.update(existingByEmail);
-                userHandler.updateLastLogin(existingByEmail.getId(), LocalDateTime.now());
+                activityTimestampBuffer.recordLogin(existingByEmail.getId(), LocalDateTime.now());
                 return existingByEmail;
             }
         }
@@ -118,7 +125,7 @@ private void assignDefaultRole(Long userId) {
      * @param userId User's unique ID
      * @return User entity or null
      */
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "authTransactionManager", readOnly = true)
     public User findById(Long userId) {
         return userHandler.findById(userId);
     }
@@ -129,7 +136,7 @@ public User findById(Long userId) {
      * @param oidcSubject OIDC subject (sub claim)
      * @return User entity or null
      */
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "authTransactionManager", readOnly = true)
     public User findByOidcSubject(String oidcSubject) {
         return userHandler.findByOidcSubject(oidcSubject);
     }
@@ -140,7 +147,7 @@ public User findByOidcSubject(String oidcSubject) {
      * @param email User's email
      * @return User entity or null
      */
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "authTransactionManager", readOnly = true)
     public User findByEmail(String email) {
         return userHandler.findByEmail(email);
     }
@@ -164,6 +171,9 @@ public void assignRole(Long userId, String roleName, String grantedBy) {
         }
 
         userHandler.assignRole(userId, role.getId(), grantedBy);
+
+        // Roles are embedded in the access token - force a refresh to pick up the new set
+        jwtTokenService.invalidateAccessTokens(userId, "ROLE_CHANGE");
     }
 
     /**
@@ -180,6 +190,9 @@ public void removeRole(Long userId, String roleName) {
         }
 
         userHandler.removeRole(userId, role.getId());
+
+        // Roles are embedded in the access token - force a refresh to pick up the new set
+        jwtTokenService.invalidateAccessTokens(userId, "ROLE_CHANGE");
     }
 
     /**
@@ -189,6 +202,7 @@ public void removeRole(Long userId, String roleName) {
      */
     public void deactivateUser(Long userId) {
         userHandler.deactivate(userId);
+        jwtTokenService.revokeAllTokens(userId, "DEACTIVATED");
     }
 
     /**
@@ -205,7 +219,7 @@ public void activateUser(Long userId) {
      * 
      * @return List of active users
      */
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "authTransactionManager", readOnly = true)
     public List<User> getAllActiveUsers() {
         return userHandler.findAllActive();
     }
@@ -215,7 +229,7 @@ public List<User> getAllActiveUsers() {
      * 
      * @return List of all users
      */
-    @Transactional(readOnly = true)
+    @Transactional(transactionManager = "authTransactionManager", readOnly = true)
     public List<User> getAllUsers() {
         return userHandler.findAll();
     }
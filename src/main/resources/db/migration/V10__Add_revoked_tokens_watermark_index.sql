@@ -0,0 +1,23 @@
+-- =============================================================================
+-- Flyway Migration V10: Watermark index for cluster-wide revocation sync
+-- =============================================================================
+-- Each backend replica polls RAP.revoked_tokens for rows revoked after its last
+-- watermark (RevocationSynchronizer). This index turns that poll into a range
+-- seek on revoked_at; jti and expires_at are included so no lookup is needed.
+-- =============================================================================
+
+IF NOT EXISTS (
+    SELECT 1 FROM sys.indexes
+    WHERE name = 'IX_revoked_tokens_revoked_at'
+      AND object_id = OBJECT_ID('RAP.revoked_tokens')
+)
+BEGIN
+    CREATE INDEX IX_revoked_tokens_revoked_at
+        ON RAP.revoked_tokens (revoked_at)
+        INCLUDE (jti, expires_at);
+    PRINT 'Created index IX_revoked_tokens_revoked_at';
+END
+ELSE
+BEGIN
+    PRINT 'Index IX_revoked_tokens_revoked_at already exists';
+END
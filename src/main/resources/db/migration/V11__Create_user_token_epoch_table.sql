@@ -0,0 +1,29 @@
+-- =============================================================================
+-- Flyway Migration V11: Per-user access token epoch ("not valid before")
+-- =============================================================================
+-- One row per user whose access tokens were mass-revoked (deactivation, role
+-- change, logout everywhere). Any access token whose iat is older than
+-- not_before is rejected, so revoking every live token of a user is a single
+-- upsert instead of one RAP.revoked_tokens row per jti.
+--
+-- updated_at is the sync watermark column polled by RevocationSynchronizer.
+-- =============================================================================
+
+IF NOT EXISTS (SELECT 1 FROM sys.tables t JOIN sys.schemas s ON t.schema_id = s.schema_id WHERE s.name = 'RAP' AND t.name = 'user_token_epoch')
+BEGIN
+    CREATE TABLE RAP.user_token_epoch (
+        user_id BIGINT NOT NULL PRIMARY KEY,
+        not_before BIGINT NOT NULL,                   -- Epoch seconds; tokens with iat < not_before are invalid
+        reason NVARCHAR(255),                         -- 'DEACTIVATED', 'ROLE_CHANGE', 'LOGOUT_ALL'
+        updated_at DATETIME2 NOT NULL DEFAULT GETUTCDATE(),
+
+        CONSTRAINT FK_user_token_epoch_user FOREIGN KEY (user_id)
+            REFERENCES RAP.USER_INFO(id) ON DELETE CASCADE,
+
+        INDEX IX_user_token_epoch_updated_at (updated_at) INCLUDE (not_before)
+    );
+    PRINT 'Created table: RAP.user_token_epoch';
+END
+ELSE
+    PRINT 'Table RAP.user_token_epoch already exists';
+GO
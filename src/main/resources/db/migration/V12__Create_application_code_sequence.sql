@@ -0,0 +1,27 @@
+-- =============================================================================
+-- Flyway Migration V12: Application code sequence
+-- =============================================================================
+-- Numbers for generated application codes (APP-yyyyMMdd-nnnnnnn).
+-- ApplicationCodeAllocator reserves a block of consecutive numbers with
+-- sp_sequence_get_range (@range_size = application-code.block-size) and hands
+-- it out in memory, so submissions take one sequence round trip per block
+-- instead of a random suffix plus a uniqueness check. Each reservation is
+-- disjoint from every other, whatever block size the caller asks for. Gaps
+-- (unused numbers of a block at shutdown) are expected.
+--
+-- INCREMENT must stay 1: the allocator treats a range as consecutive numbers.
+-- =============================================================================
+
+IF NOT EXISTS (SELECT 1 FROM sys.sequences sq JOIN sys.schemas s ON sq.schema_id = s.schema_id WHERE s.name = 'RAP' AND sq.name = 'application_code_seq')
+BEGIN
+    CREATE SEQUENCE RAP.application_code_seq
+        AS BIGINT
+        START WITH 1
+        INCREMENT BY 1
+        MINVALUE 1
+        NO CYCLE;
+    PRINT 'Created sequence: RAP.application_code_seq';
+END
+ELSE
+    PRINT 'Sequence RAP.application_code_seq already exists';
+GO
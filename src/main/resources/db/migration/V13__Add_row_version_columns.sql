@@ -0,0 +1,36 @@
+-- =============================================================================
+-- Flyway Migration V13: rowversion on application, permit and task
+-- =============================================================================
+-- SQL Server bumps a ROWVERSION column on every write to the row. The API
+-- serves it as the entity's ETag:
+--   - If-None-Match on GET returns 304 while the row is unchanged
+--   - If-Match on PUT becomes UPDATE ... WHERE row_version = ?, so a write based
+--     on a stale copy fails with 412 instead of silently overwriting
+-- =============================================================================
+
+IF COL_LENGTH('RAP.application', 'row_version') IS NULL
+BEGIN
+    ALTER TABLE RAP.application ADD row_version ROWVERSION;
+    PRINT 'Added column: RAP.application.row_version';
+END
+ELSE
+    PRINT 'Column RAP.application.row_version already exists';
+GO
+
+IF COL_LENGTH('RAP.permit', 'row_version') IS NULL
+BEGIN
+    ALTER TABLE RAP.permit ADD row_version ROWVERSION;
+    PRINT 'Added column: RAP.permit.row_version';
+END
+ELSE
+    PRINT 'Column RAP.permit.row_version already exists';
+GO
+
+IF COL_LENGTH('RAP.task', 'row_version') IS NULL
+BEGIN
+    ALTER TABLE RAP.task ADD row_version ROWVERSION;
+    PRINT 'Added column: RAP.task.row_version';
+END
+ELSE
+    PRINT 'Column RAP.task.row_version already exists';
+GO
@@ -0,0 +1,173 @@
+-- =============================================================================
+-- Flyway Migration V14: Covering indexes for the list and lookup statements
+-- =============================================================================
+-- One composite index per hot mapper access path. The key columns are the
+-- filter followed by the statement's ORDER BY (including the id tie-breaker
+-- used by keyset paging), so a page is a range seek read in order with no
+-- sort; the INCLUDE list carries the selected columns, so COUNT(*) OVER()
+-- and the page itself need no key lookups.
+--
+--   application  owner_email                  -> created_at DESC, id DESC
+--   application  university_id                -> created_at DESC, id DESC
+--   application  status                       -> created_at DESC
+--   permit       holder_id                    -> issue_date DESC, id DESC
+--   permit       university_id                -> issue_date DESC, id DESC
+--   permit       status / permit_type         -> issue_date DESC
+--   task         assigned_to                  -> due_date, created_at DESC, id DESC
+--   task         status / application_number  -> due_date, created_at DESC
+--
+-- Single-column indexes whose column now leads one of the new indexes are
+-- dropped, as are the duplicates of the UNIQUE constraints on
+-- application_code and permit_number - every write maintained them for no
+-- read that the new indexes (or the constraint) do not already serve.
+--
+-- MapperQueryPlanTest checks the estimated plan of every mapper statement
+-- against these indexes.
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- RAP.application
+-- -----------------------------------------------------------------------------
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_application_owner_email_created_at' AND object_id = OBJECT_ID('RAP.application'))
+BEGIN
+    CREATE INDEX IX_application_owner_email_created_at
+        ON RAP.application (owner_email, created_at DESC, id DESC)
+        INCLUDE (application_name, application_code, description, status, owner_name,
+                 university_id, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_application_owner_email_created_at';
+END
+ELSE
+    PRINT 'Index IX_application_owner_email_created_at already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_application_university_id_created_at' AND object_id = OBJECT_ID('RAP.application'))
+BEGIN
+    CREATE INDEX IX_application_university_id_created_at
+        ON RAP.application (university_id, created_at DESC, id DESC)
+        INCLUDE (application_name, application_code, description, status, owner_name,
+                 owner_email, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_application_university_id_created_at';
+END
+ELSE
+    PRINT 'Index IX_application_university_id_created_at already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_application_status_created_at' AND object_id = OBJECT_ID('RAP.application'))
+BEGIN
+    CREATE INDEX IX_application_status_created_at
+        ON RAP.application (status, created_at DESC)
+        INCLUDE (application_name, application_code, description, owner_name, owner_email,
+                 university_id, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_application_status_created_at';
+END
+ELSE
+    PRINT 'Index IX_application_status_created_at already exists';
+GO
+
+DROP INDEX IF EXISTS idx_application_university_id ON RAP.application;
+DROP INDEX IF EXISTS idx_status ON RAP.application;
+DROP INDEX IF EXISTS idx_application_code ON RAP.application;
+PRINT 'Dropped superseded application indexes';
+GO
+
+-- -----------------------------------------------------------------------------
+-- RAP.permit
+-- -----------------------------------------------------------------------------
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_permit_holder_id_issue_date' AND object_id = OBJECT_ID('RAP.permit'))
+BEGIN
+    CREATE INDEX IX_permit_holder_id_issue_date
+        ON RAP.permit (holder_id, issue_date DESC, id DESC)
+        INCLUDE (permit_number, permit_type, status, expiry_date, university_id, description,
+                 created_at, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_permit_holder_id_issue_date';
+END
+ELSE
+    PRINT 'Index IX_permit_holder_id_issue_date already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_permit_university_id_issue_date' AND object_id = OBJECT_ID('RAP.permit'))
+BEGIN
+    CREATE INDEX IX_permit_university_id_issue_date
+        ON RAP.permit (university_id, issue_date DESC, id DESC)
+        INCLUDE (permit_number, permit_type, status, expiry_date, holder_id, description,
+                 created_at, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_permit_university_id_issue_date';
+END
+ELSE
+    PRINT 'Index IX_permit_university_id_issue_date already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_permit_status_issue_date' AND object_id = OBJECT_ID('RAP.permit'))
+BEGIN
+    CREATE INDEX IX_permit_status_issue_date
+        ON RAP.permit (status, issue_date DESC)
+        INCLUDE (permit_number, permit_type, expiry_date, holder_id, description,
+                 created_at, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_permit_status_issue_date';
+END
+ELSE
+    PRINT 'Index IX_permit_status_issue_date already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_permit_type_issue_date' AND object_id = OBJECT_ID('RAP.permit'))
+BEGIN
+    CREATE INDEX IX_permit_type_issue_date
+        ON RAP.permit (permit_type, issue_date DESC)
+        INCLUDE (permit_number, status, expiry_date, holder_id, description,
+                 created_at, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_permit_type_issue_date';
+END
+ELSE
+    PRINT 'Index IX_permit_type_issue_date already exists';
+GO
+
+DROP INDEX IF EXISTS IDX_permit_holder_id ON RAP.permit;
+DROP INDEX IF EXISTS idx_permit_university_id ON RAP.permit;
+DROP INDEX IF EXISTS IDX_permit_status ON RAP.permit;
+DROP INDEX IF EXISTS IDX_permit_number ON RAP.permit;
+PRINT 'Dropped superseded permit indexes';
+GO
+
+-- -----------------------------------------------------------------------------
+-- RAP.task
+-- -----------------------------------------------------------------------------
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_task_assigned_to_due_date' AND object_id = OBJECT_ID('RAP.task'))
+BEGIN
+    CREATE INDEX IX_task_assigned_to_due_date
+        ON RAP.task (assigned_to, due_date, created_at DESC, id DESC)
+        INCLUDE ([function], task, application_number, application_name, issuing_office,
+                 type, status, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_task_assigned_to_due_date';
+END
+ELSE
+    PRINT 'Index IX_task_assigned_to_due_date already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_task_status_due_date' AND object_id = OBJECT_ID('RAP.task'))
+BEGIN
+    CREATE INDEX IX_task_status_due_date
+        ON RAP.task (status, due_date, created_at DESC)
+        INCLUDE ([function], task, application_number, application_name, issuing_office,
+                 type, assigned_to, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_task_status_due_date';
+END
+ELSE
+    PRINT 'Index IX_task_status_due_date already exists';
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_task_application_number_due_date' AND object_id = OBJECT_ID('RAP.task'))
+BEGIN
+    CREATE INDEX IX_task_application_number_due_date
+        ON RAP.task (application_number, due_date, created_at DESC)
+        INCLUDE ([function], task, application_name, issuing_office,
+                 type, status, assigned_to, created_by, updated_at, updated_by);
+    PRINT 'Created index IX_task_application_number_due_date';
+END
+ELSE
+    PRINT 'Index IX_task_application_number_due_date already exists';
+GO
+
+DROP INDEX IF EXISTS IDX_task_assigned_to ON RAP.task;
+DROP INDEX IF EXISTS IDX_task_status ON RAP.task;
+PRINT 'Dropped superseded task indexes';
+GO
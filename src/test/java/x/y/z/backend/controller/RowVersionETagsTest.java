@@ -0,0 +1,76 @@
+package x.y.z.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import x.y.z.backend.exception.PreconditionFailedException;
+
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * RowVersionETagsTest - If-Match parsing: no condition, strong comparison over
+ * lists, 412 when nothing can match and 400 for a malformed header.
+ */
+class RowVersionETagsTest {
+
+    private static final byte[] V1 = HexFormat.of().parseHex("00000000000007d1");
+    private static final byte[] V2 = HexFormat.of().parseHex("00000000000007d2");
+
+    @Test
+    void eTagIsTheQuotedHexRowVersion() {
+        assertEquals("\"00000000000007d1\"", RowVersionETags.eTag(V1));
+        assertNull(RowVersionETags.eTag(null));
+    }
+
+    @Test
+    void absentOrAnyMeansNoCondition() {
+        assertNull(RowVersionETags.parseIfMatch(null));
+        assertNull(RowVersionETags.parseIfMatch(" "));
+        assertNull(RowVersionETags.parseIfMatch(" * "));
+    }
+
+    @Test
+    void singleStrongTagRoundTrips() {
+        List<byte[]> rowVersions = RowVersionETags.parseIfMatch(RowVersionETags.eTag(V1));
+
+        assertEquals(1, rowVersions.size());
+        assertArrayEquals(V1, rowVersions.get(0));
+    }
+
+    @Test
+    void listYieldsEveryStrongTag() {
+        List<byte[]> rowVersions = RowVersionETags.parseIfMatch("\"00000000000007d1\" ,\t\"00000000000007d2\"");
+
+        assertEquals(2, rowVersions.size());
+        assertArrayEquals(V1, rowVersions.get(0));
+        assertArrayEquals(V2, rowVersions.get(1));
+    }
+
+    @Test
+    void weakAndForeignTagsAreSkipped() {
+        List<byte[]> rowVersions = RowVersionETags.parseIfMatch(
+                "W/\"00000000000007d1\", \"not-a-rowversion\", \"00000000000007d2\"");
+
+        assertEquals(1, rowVersions.size());
+        assertArrayEquals(V2, rowVersions.get(0));
+    }
+
+    @Test
+    void onlyWeakOrForeignTagsFailThePrecondition() {
+        assertThrows(PreconditionFailedException.class,
+                () -> RowVersionETags.parseIfMatch("W/\"00000000000007d1\""));
+        assertThrows(PreconditionFailedException.class,
+                () -> RowVersionETags.parseIfMatch("W/\"00000000000007d1\", \"xyz\""));
+    }
+
+    @Test
+    void malformedHeaderIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RowVersionETags.parseIfMatch("00000000000007d1"));
+        assertThrows(IllegalArgumentException.class, () -> RowVersionETags.parseIfMatch("\"00000000000007d1"));
+        assertThrows(IllegalArgumentException.class, () -> RowVersionETags.parseIfMatch("W/00000000000007d1"));
+    }
+}
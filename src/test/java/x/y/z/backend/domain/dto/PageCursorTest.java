@@ -0,0 +1,80 @@
+package x.y.z.backend.domain.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * PageCursorTest - Round trips and rejection of malformed client cursors (every
+ * rejection must be an IllegalArgumentException so the API answers 400).
+ */
+class PageCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000);
+    private static final LocalDate DUE_DATE = LocalDate.of(2026, 4, 1);
+
+    @Test
+    void roundTripsKeyValuesAndId() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(CREATED_AT, 42L), 2);
+
+        assertEquals(CREATED_AT, cursor.getDateTime(0));
+        assertEquals(42L, cursor.getLong(1));
+    }
+
+    @Test
+    void nullDueDateRoundTripsAsNull() {
+        // Task cursors are (due_date, created_at, id); tasks without a due date sort last
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(null, CREATED_AT, 7L), 3);
+
+        assertNull(cursor.getDate(0));
+        assertNull(cursor.getDateTime(0));
+        assertEquals(CREATED_AT, cursor.getDateTime(1));
+        assertEquals(7L, cursor.getLong(2));
+    }
+
+    @Test
+    void dueDateRoundTrips() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(DUE_DATE, CREATED_AT, 7L), 3);
+
+        assertEquals(DUE_DATE, cursor.getDate(0));
+    }
+
+    @Test
+    void rejectsWrongArity() {
+        String cursor = PageCursor.encode(CREATED_AT, 42L);
+
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor, 3));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor, 1));
+    }
+
+    @Test
+    void rejectsMalformedBase64() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not*base64!", 2));
+    }
+
+    @Test
+    void rejectsOtherVersionsAndMissingId() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(raw("v2|2026-03-14T09:26:53|42"), 2));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(raw("v1|2026-03-14T09:26:53|"), 2));
+    }
+
+    @Test
+    void rejectsUnparsableValuesWhenRead() {
+        PageCursor cursor = PageCursor.decode(raw("v1|yesterday|forty-two"), 2);
+
+        assertThrows(IllegalArgumentException.class, () -> cursor.getDateTime(0));
+        assertThrows(IllegalArgumentException.class, () -> cursor.getDate(0));
+        assertThrows(IllegalArgumentException.class, () -> cursor.getLong(1));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
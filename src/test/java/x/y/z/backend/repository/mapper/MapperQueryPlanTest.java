@@ -0,0 +1,336 @@
+package x.y.z.backend.repository.mapper;
+
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * MapperQueryPlanTest - Fails when a mapper statement's estimated plan scans a RAP table.
+ *
+ * Every statement of every mapper XML is bound with sample parameters - once per
+ * dynamic SQL variant (cursor set or not, optional filters present or not) - and
+ * compiled under SET SHOWPLAN_XML ON, which returns the estimated plan without
+ * executing anything. Parameters become unassigned local variables, so the plan is
+ * the one a statement gets for an arbitrary value, not for one sniffed sample.
+ *
+ * A Table Scan, Clustered Index Scan or Index Scan of a RAP table fails the
+ * statement, unless the statement reads the whole table by design (FULL_READS) or
+ * the table is small reference data (SCAN_TOLERANT_TABLES).
+ *
+ * Needs a SQL Server database: set QUERY_PLAN_DB_URL (and QUERY_PLAN_DB_USERNAME /
+ * QUERY_PLAN_DB_PASSWORD unless the URL carries credentials). The schema is migrated
+ * with Flyway first. Without the variable the suite is skipped.
+ */
+@EnabledIfEnvironmentVariable(named = "QUERY_PLAN_DB_URL", matches = ".+")
+class MapperQueryPlanTest {
+
+    private static final String SHOWPLAN_NAMESPACE = "http://schemas.microsoft.com/sqlserver/2004/07/showplan";
+
+    private static final Set<String> SCAN_OPERATORS = Set.of("Table Scan", "Clustered Index Scan", "Index Scan");
+
+    /** Exports, startup loads and unfiltered counts: a scan is the right plan */
+    private static final Set<String> FULL_READS = Set.of(
+            "ApplicationMapper.findAll",
+            "ApplicationMapper.count",
+            "ApplicationMapper.findSearchKeys",
+            "ApplicationMapper.streamApplications",
+            "ApplicationMapper.searchByName",        // leading wildcard LIKE
+            "PermitMapper.findAll",
+            "PermitMapper.count",
+            "PermitMapper.streamAll",
+            "ProcessMapper.findAll",
+            "ProcessMapper.count",
+            "ProcessMapper.streamAll",
+            "UserMapper.findAll",
+            "UserMapper.findAllActive",
+            "RevokedTokenMapper.findUnexpired",      // revocation set load at startup
+            "UserTokenEpochMapper.findActive");      // epoch set load at startup
+
+    /** A handful of rows each, read through snapshots; the optimizer may scan them */
+    private static final Set<String> SCAN_TOLERANT_TABLES = Set.of("university", "role_ref");
+
+    /** Keys removed (in every combination) to produce the other dynamic SQL variants */
+    private static final List<String> OPTIONAL_KEYS =
+            List.of("cursorId", "cursorDueDate", "includeTotal", "expectedRowVersions", "status", "namePattern");
+
+    private static final Map<String, Object> SAMPLES = samples();
+
+    @TestFactory
+    Stream<DynamicTest> noMapperStatementScansATable() throws Exception {
+        String url = System.getenv("QUERY_PLAN_DB_URL");
+        String username = System.getenv("QUERY_PLAN_DB_USERNAME");
+        String password = System.getenv("QUERY_PLAN_DB_PASSWORD");
+
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                .schemas("RAP")
+                .defaultSchema("RAP")
+                .createSchemas(true)
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+
+        Configuration configuration = loadMappers();
+        Map<String, MappedStatement> statements = new TreeMap<>();
+        for (String id : configuration.getMappedStatementNames()) {
+            // Each statement is also registered under its short id; keep the full ones
+            if (id.contains(".")) {
+                statements.put(id, configuration.getMappedStatement(id));
+            }
+        }
+
+        Connection connection = username == null
+                ? DriverManager.getConnection(url)
+                : DriverManager.getConnection(url, username, password);
+        try (Statement showplan = connection.createStatement()) {
+            showplan.execute("SET SHOWPLAN_XML ON");
+        }
+
+        return statements.values().stream()
+                .map(statement -> DynamicTest.dynamicTest(shortId(statement), () -> {
+                    for (String batch : variants(statement)) {
+                        List<String> scans = scannedTables(connection, batch);
+                        if (!scans.isEmpty() && !FULL_READS.contains(shortId(statement))) {
+                            fail(shortId(statement) + " scans " + scans + ":\n" + batch);
+                        }
+                    }
+                }))
+                .onClose(() -> {
+                    try {
+                        connection.close();
+                    } catch (Exception ignored) {
+                        // connection is discarded either way
+                    }
+                });
+    }
+
+    private static Configuration loadMappers() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("x.y.z.backend.domain.model");
+        configuration.getTypeHandlerRegistry().register("x.y.z.backend.config");
+        PathMatchingResourcePatternResolver resolver =
+                new PathMatchingResourcePatternResolver(MapperQueryPlanTest.class.getClassLoader());
+        for (Resource resource : resolver.getResources("classpath:mapper/**/*.xml")) {
+            try (InputStream in = resource.getInputStream()) {
+                new XMLMapperBuilder(in, configuration, resource.toString(), configuration.getSqlFragments()).parse();
+            }
+        }
+        return configuration;
+    }
+
+    /**
+     * @return one SQL batch per distinct SQL text the statement can render, with its
+     *         parameters declared as local variables
+     */
+    private static Set<String> variants(MappedStatement statement) {
+        Set<String> batches = new LinkedHashSet<>();
+        for (int mask = 0; mask < 1 << OPTIONAL_KEYS.size(); mask++) {
+            Map<String, Object> parameters = new HashMap<>(SAMPLES);
+            for (int i = 0; i < OPTIONAL_KEYS.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    parameters.remove(OPTIONAL_KEYS.get(i));
+                }
+            }
+            String batch = declare(statement, parameters);
+            if (batch != null) {
+                batches.add(batch);
+            }
+        }
+        assertTrue(!batches.isEmpty(), shortId(statement) + " renders no SQL with the sample parameters");
+        return batches;
+    }
+
+    /**
+     * @return "DECLARE @p1 ...; statement" with every ? replaced by its variable, or null
+     *         when a removed optional key is bound as a plain value (not a variant)
+     */
+    private static String declare(MappedStatement statement,
+                                  Map<String, Object> parameters) {
+        BoundSql boundSql = statement.getBoundSql(parameters);
+        List<String> declarations = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        String text = boundSql.getSql();
+        int index = 0;
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String name = mapping.getProperty();
+            Object value = boundSql.hasAdditionalParameter(name)
+                    ? boundSql.getAdditionalParameter(name)
+                    : parameters.get(name);
+            if (value == null && mapping.getJdbcType() == null) {
+                if (SAMPLES.containsKey(name)) {
+                    return null;
+                }
+                fail("No sample value for #{" + name + "} in " + shortId(statement) + "; add one to SAMPLES");
+            }
+            int placeholder = text.indexOf('?', index);
+            String variable = "@p" + (declarations.size() + 1);
+            declarations.add(variable + " " + sqlType(mapping.getJdbcType(), value));
+            sql.append(text, index, placeholder).append(variable);
+            index = placeholder + 1;
+        }
+        sql.append(text.substring(index));
+        String body = sql.toString().trim().replaceAll("\\s+", " ");
+        return declarations.isEmpty() ? body : "DECLARE " + String.join(", ", declarations) + "; " + body;
+    }
+
+    private static String sqlType(JdbcType jdbcType, Object value) {
+        if (jdbcType == JdbcType.BIGINT || value instanceof Long) {
+            return "BIGINT";
+        }
+        if (value instanceof Integer) {
+            return "INT";
+        }
+        if (value instanceof Boolean) {
+            return "BIT";
+        }
+        if (value instanceof LocalDateTime) {
+            return "DATETIME2";
+        }
+        if (value instanceof LocalDate) {
+            return "DATE";
+        }
+        if (value instanceof byte[]) {
+            return "VARBINARY(8)";
+        }
+        // The driver sends strings as NVARCHAR(4000) (sendStringParametersAsUnicode)
+        return "NVARCHAR(4000)";
+    }
+
+    /**
+     * @return a value for every parameter name used by the mappers; only the type matters
+     */
+    private static Map<String, Object> samples() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Map<String, Object> samples = new HashMap<>();
+        for (String name : List.of("id", "userId", "roleId", "tokenId", "universityId", "holderId",
+                "assignedTo", "cursorId")) {
+            samples.put(name, 1L);
+        }
+        for (String name : List.of("cursorCreatedAt", "currentTime", "revokedAt", "lastLoginAt",
+                "lastUsedAt", "expiresAt", "dueDate", "cursorDueDate", "since", "notBefore",
+                "minNotBefore")) {
+            samples.put(name, now);
+        }
+        for (String name : List.of("issueDate", "expiryDate", "cursorIssueDate")) {
+            samples.put(name, now.toLocalDate());
+        }
+        for (String name : List.of("status", "updatedBy", "createdBy", "grantedBy", "description",
+                "permitNumber", "permitType", "email", "userEmail", "applicationName",
+                "applicationCode", "applicationNumber", "roleName", "oidcSubject", "jti", "type",
+                "tokenHash", "task", "function", "resource", "reason", "ownerName", "ownerEmail",
+                "namePattern", "prefix", "issuingOffice", "fullName", "userAgent", "ipAddress",
+                "universityName", "universityCode")) {
+            samples.put(name, "x");
+        }
+        samples.put("limit", 20);
+        samples.put("offset", 0);
+        samples.put("batchSize", 1000);
+        samples.put("blockSize", 100);
+        samples.put("includeTotal", true);
+        samples.put("isActive", true);
+        samples.put("isRevoked", false);
+        samples.put("expectedRowVersions", List.of(new byte[8], new byte[8]));
+        samples.put("ids", List.of(1L, 2L));
+        samples.put("lastUsed", new LinkedHashMap<>(Map.of(1L, now)));
+        samples.put("lastLogins", new LinkedHashMap<>(Map.of(1L, now)));
+        return Map.copyOf(samples);
+    }
+
+    /**
+     * @return "schema.table (operator)" for every scan of a RAP table in the batch's plan
+     */
+    private static List<String> scannedTables(Connection connection, String batch) throws Exception {
+        List<String> scans = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            boolean hasResults = statement.execute(batch);
+            while (hasResults || statement.getUpdateCount() != -1) {
+                if (hasResults) {
+                    try (ResultSet plans = statement.getResultSet()) {
+                        while (plans.next()) {
+                            collectScans(plans.getString(1), scans);
+                        }
+                    }
+                }
+                hasResults = statement.getMoreResults();
+            }
+        }
+        return scans;
+    }
+
+    private static void collectScans(String showplanXml, List<String> scans) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document plan = factory.newDocumentBuilder()
+                .parse(new InputSource(new StringReader(showplanXml)));
+        NodeList relOps = plan.getElementsByTagNameNS(SHOWPLAN_NAMESPACE, "RelOp");
+        for (int i = 0; i < relOps.getLength(); i++) {
+            Element relOp = (Element) relOps.item(i);
+            String operator = relOp.getAttribute("PhysicalOp");
+            if (!SCAN_OPERATORS.contains(operator)) {
+                continue;
+            }
+            // The scanned object sits on the operator element directly below the RelOp
+            for (Node op = relOp.getFirstChild(); op != null; op = op.getNextSibling()) {
+                for (Node child = op.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    if (child instanceof Element object && "Object".equals(object.getLocalName())) {
+                        String schema = unquote(object.getAttribute("Schema"));
+                        String table = unquote(object.getAttribute("Table"));
+                        if ("rap".equalsIgnoreCase(schema)
+                                && !SCAN_TOLERANT_TABLES.contains(table.toLowerCase())) {
+                            scans.add(schema + "." + table + " (" + operator + ")");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static String unquote(String name) {
+        return name.startsWith("[") && name.endsWith("]") ? name.substring(1, name.length() - 1) : name;
+    }
+
+    private static String shortId(MappedStatement statement) {
+        String id = statement.getId();
+        int method = id.lastIndexOf('.');
+        int mapper = id.lastIndexOf('.', method - 1);
+        return id.substring(mapper + 1);
+    }
+}
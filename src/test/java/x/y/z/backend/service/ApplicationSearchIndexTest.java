@@ -0,0 +1,131 @@
+package x.y.z.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import x.y.z.backend.domain.model.Application;
+import x.y.z.backend.handler.ApplicationHandler;
+import x.y.z.backend.service.ApplicationSearchIndex.Mode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ApplicationSearchIndexTest - Candidate lookup, ranking and rebuild behaviour of the
+ * in-memory application search index (no database, no transaction: index mutations
+ * apply immediately).
+ */
+class ApplicationSearchIndexTest {
+
+    private static final List<Application> APPLICATIONS = List.of(
+            application(1L, "Bio", "APP-0001"),
+            application(2L, "Biology Permit", "APP-0002"),
+            application(3L, "Marine Bio Survey", "APP-0003"),
+            application(4L, "Symbiosis Study", "APP-0004"),
+            application(5L, "Chemistry Lab", "APP-0005"));
+
+    private ApplicationHandler applicationHandler;
+    private ApplicationSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        applicationHandler = mock(ApplicationHandler.class);
+        when(applicationHandler.findSearchKeys()).thenReturn(APPLICATIONS);
+        index = new ApplicationSearchIndex(applicationHandler, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void notReadyUntilBuilt() {
+        assertFalse(index.isReady());
+        index.build();
+        assertTrue(index.isReady());
+        assertEquals(APPLICATIONS.size(), index.size());
+    }
+
+    @Test
+    void failedBuildLeavesIndexNotReady() {
+        when(applicationHandler.findSearchKeys()).thenThrow(new IllegalStateException("database down"));
+        index.build();
+        assertFalse(index.isReady());
+    }
+
+    @Test
+    void containsRanksExactThenPrefixThenWordPrefixThenSubstring() {
+        index.build();
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search("bio", Mode.CONTAINS, 10));
+    }
+
+    @Test
+    void prefixModeDropsPlainSubstringMatches() {
+        index.build();
+        assertEquals(List.of(1L, 2L, 3L), index.search("BIO", Mode.PREFIX, 10));
+    }
+
+    @Test
+    void codeMatchesRankWithNameMatchesAndTiesGoToShorterName() {
+        index.build();
+        // Every code starts with "app-000": all tier 1, shortest name first
+        assertEquals(List.of(1L, 5L, 2L), index.search("app-000", Mode.PREFIX, 3));
+        assertEquals(List.of(4L), index.search("APP-0004", Mode.CONTAINS, 10));
+    }
+
+    @Test
+    void candidatesMustHoldEveryTrigramOfTheQuery() {
+        index.build();
+        // "Marine Bio Survey" and "Symbiosis Study" share "bio" but not "iol"
+        assertEquals(List.of(2L), index.search("biol", Mode.CONTAINS, 10));
+        assertEquals(List.of(), index.search("biox", Mode.CONTAINS, 10));
+    }
+
+    @Test
+    void queriesShorterThanATrigramScanAllEntries() {
+        index.build();
+        assertEquals(List.of(1L, 2L, 3L, 4L), index.search("bi", Mode.CONTAINS, 10));
+        assertEquals(List.of(4L, 3L), index.search("s", Mode.PREFIX, 10));
+        assertEquals(List.of(), index.search("  ", Mode.CONTAINS, 10));
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        index.build();
+        assertEquals(List.of(1L, 2L), index.search("bio", Mode.CONTAINS, 2));
+    }
+
+    @Test
+    void savedApplicationReplacesItsPreviousTrigrams() {
+        index.build();
+        index.onSaved(application(2L, "Geology Permit", "APP-0002"));
+
+        assertEquals(List.of(1L, 3L, 4L), index.search("bio", Mode.CONTAINS, 10));
+        assertEquals(List.of(2L), index.search("geol", Mode.CONTAINS, 10));
+    }
+
+    @Test
+    void writesDuringARebuildAreReplayedOntoTheRebuiltIndex() {
+        index.build();
+        // The rebuild reads a snapshot taken before a local insert and delete committed
+        when(applicationHandler.findSearchKeys()).thenAnswer(invocation -> {
+            index.onSaved(application(9L, "Bioreactor Grant", "APP-0009"));
+            index.onDeleted(3L);
+            return APPLICATIONS;
+        });
+
+        index.refresh();
+
+        assertEquals(List.of(1L, 2L, 9L, 4L), index.search("bio", Mode.CONTAINS, 10));
+        assertEquals(APPLICATIONS.size(), index.size());
+    }
+
+    private static Application application(Long id, String name, String code) {
+        Application application = new Application();
+        application.setId(id);
+        application.setApplicationName(name);
+        application.setApplicationCode(code);
+        return application;
+    }
+}